@@ -0,0 +1,69 @@
+package com.example.employee_sytem.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the schema adjustments that Hibernate's {@code ddl-auto=update} cannot make on its own.
+ * <p>
+ * The entities generate IDs from pooled sequences ({@code allocationSize = 50}) so that inserts can be
+ * batched. Tables that were created while the IDs still came from identity columns already hold rows
+ * whose IDs the fresh sequences know nothing about, so each sequence is moved past its table's highest
+ * ID before the application starts accepting writes.
+ * </p>
+ * <p>
+ * leave_requests is converted into a table partitioned by leave year, and the partitions of the current and
+ * upcoming years are created (see {@link LeaveRequestPartitions}).
+ * </p>
+ * <p>
+ * leave_ledger_state records which business calendar the leave-balance ledger was computed with, so the
+ * ledger can be rebuilt at startup when the calendar changes.
+ * </p>
+ * <p>
+ * The initializer depends on the entity manager factory, so it runs after Hibernate has updated the
+ * schema and before the web server is started.
+ * </p>
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@DependsOn("entityManagerFactory")
+public class DatabaseSchemaInitializer {
+
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50; // Must match the entities' @SequenceGenerator
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaveRequestPartitions leaveRequestPartitions;
+
+    /**
+     * Runs the schema adjustments once the persistence layer has been initialised.
+     */
+    @PostConstruct
+    public void initialize() {
+        leaveRequestPartitions.partitionTable();
+        alignSequence("employees", "employees_seq");
+        alignSequence("departments", "departments_seq");
+        alignSequence("leave_requests", "leave_requests_seq");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS leave_ledger_state (id SMALLINT PRIMARY KEY, unit TEXT NOT NULL)");
+    }
+
+    /**
+     * Moves a sequence past the highest ID in its table if it is behind.
+     * <p>
+     * With the pooled optimizer the sequence value is the upper bound of the block Hibernate hands out,
+     * so a sequence that is at or above the table's maximum ID never produces a duplicate.
+     * </p>
+     */
+    private void alignSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+        if (maxId != null && lastValue != null && lastValue < maxId) {
+            jdbcTemplate.queryForObject("SELECT setval(?, ?)", Long.class, sequence, maxId + SEQUENCE_ALLOCATION_SIZE);
+            log.info("Moved sequence {} from {} past the highest {} ID {}", sequence, lastValue, table, maxId);
+        }
+    }
+}
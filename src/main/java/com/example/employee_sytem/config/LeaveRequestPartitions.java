@@ -0,0 +1,152 @@
+package com.example.employee_sytem.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manages the PostgreSQL declarative partitioning of the leave_requests table by leave year.
+ * <p>
+ * leave_requests is range-partitioned on {@code leave_year}, with one partition per year named
+ * {@code leave_requests_y<year>} and a default partition that catches years nobody created a partition for.
+ * Queries that filter on the leave year are pruned to that year's partition, so their cost does not grow
+ * with the length of the leave history.
+ * </p>
+ * <p>
+ * Hibernate creates leave_requests as a plain table; {@link #partitionTable()} converts it in place on the
+ * first start. Partitions are created for the current year and {@code app.leave-partitions.years-ahead}
+ * following years at startup, and again by a yearly rollover job so next year's partition exists before
+ * anyone files leave for it.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveRequestPartitions {
+
+    private static final String TABLE = "leave_requests";
+    private static final String DEFAULT_PARTITION = "leave_requests_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.leave-partitions.years-ahead:1}")
+    private int yearsAhead; // Future years that always have a partition
+
+    /**
+     * Converts leave_requests into a table partitioned by leave year, unless it already is one.
+     * <p>
+     * The existing rows, secondary indexes and foreign keys are carried over to the partitioned table in
+     * a single transaction. The primary key becomes {@code (id, leave_year)}, because PostgreSQL requires
+     * the partition key in every unique constraint of a partitioned table.
+     * </p>
+     */
+    public void partitionTable() {
+        transactionTemplate.executeWithoutResult(status -> {
+            addLeaveYearColumn();
+            if (isPartitioned()) {
+                return;
+            }
+            String legacy = TABLE + "_unpartitioned";
+            List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                    "SELECT i.relname AS name, pg_get_indexdef(i.oid) AS definition"
+                            + " FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid"
+                            + " WHERE x.indrelid = ?::regclass AND NOT x.indisprimary", TABLE);
+            List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                    "SELECT conname AS name, pg_get_constraintdef(oid) AS definition"
+                            + " FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'", TABLE);
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                    + " PARTITION BY RANGE (leave_year)");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+            for (Integer year : jdbcTemplate.queryForList(
+                    "SELECT DISTINCT leave_year FROM " + legacy + " ORDER BY 1", Integer.class)) {
+                createPartition(year);
+            }
+            jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + legacy);
+            jdbcTemplate.execute("DROP TABLE " + legacy);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, leave_year)"); // Name freed by the drop
+
+            for (Map<String, Object> index : indexes) {
+                jdbcTemplate.execute(((String) index.get("definition"))
+                        .replace(" ON public." + legacy + " ", " ON public." + TABLE + " ")
+                        .replace(" ON " + legacy + " ", " ON " + TABLE + " "));
+            }
+            for (Map<String, Object> foreignKey : foreignKeys) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey.get("name")
+                        + " " + foreignKey.get("definition"));
+            }
+            log.info("Partitioned {} by leave year", TABLE);
+        });
+        ensureUpcomingPartitions();
+    }
+
+    /**
+     * Creates the partitions of the current year and the configured number of following years.
+     * <p>
+     * Runs every year on 1 December by default, so next year's partition exists well before it is needed.
+     * </p>
+     */
+    @Scheduled(cron = "${app.leave-partitions.rollover-cron:0 0 3 1 12 *}")
+    public void ensureUpcomingPartitions() {
+        int currentYear = LocalDate.now().getYear();
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            int partitionYear = year;
+            transactionTemplate.executeWithoutResult(status -> createPartition(partitionYear));
+        }
+    }
+
+    /**
+     * Creates and attaches the partition of one leave year, unless it exists.
+     * <p>
+     * Rows of that year that were written to the default partition in the meantime are moved into the new
+     * partition before it is attached, which PostgreSQL requires.
+     * </p>
+     */
+    private void createPartition(int year) {
+        String partition = TABLE + "_y" + year;
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE leave_year = " + year
+                + " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + year + ") TO (" + (year + 1) + ")");
+        log.info("Created leave_requests partition {} ({} rows moved from the default partition)", partition, moved);
+    }
+
+    /**
+     * Adds and back-fills the leave_year column on a table created before the column existed.
+     * <p>
+     * Hibernate cannot add a NOT NULL column to a table that already holds rows, so the column is added
+     * as nullable, filled from the start dates and only then constrained.
+     * </p>
+     */
+    private void addLeaveYearColumn() {
+        Boolean constrained = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM information_schema.columns"
+                + " WHERE table_name = ? AND column_name = 'leave_year' AND is_nullable = 'NO')", Boolean.class, TABLE);
+        if (Boolean.TRUE.equals(constrained)) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS leave_year integer");
+        jdbcTemplate.update("UPDATE " + TABLE + " SET leave_year = CAST(EXTRACT(YEAR FROM start_date) AS integer)"
+                + " WHERE leave_year IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN leave_year SET NOT NULL");
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = ?::regclass", Boolean.class, TABLE));
+    }
+}
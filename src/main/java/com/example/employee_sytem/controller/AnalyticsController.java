@@ -0,0 +1,50 @@
+package com.example.employee_sytem.controller;
+
+import com.example.employee_sytem.dto.LeaveUtilisationDto;
+import com.example.employee_sytem.service.AnalyticsService;
+import com.example.employee_sytem.service.AnalyticsService.UtilisationGrouping;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * REST controller for HR analytics.
+ * <p>
+ * This controller exposes aggregated reports over the leave data.
+ * </p>
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Retrieves the leave utilisation of a year, grouped by department or by month.
+     *
+     * @param year the leave year (defaults to the current year)
+     * @param groupBy "department" or "month" (defaults to "department")
+     * @return ResponseEntity containing the LeaveUtilisationDto and HTTP status 200 (OK)
+     */
+    @GetMapping("/leave-utilisation")
+    public ResponseEntity<LeaveUtilisationDto> getLeaveUtilisation(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(defaultValue = "department") String groupBy) {
+        UtilisationGrouping grouping;
+        try {
+            grouping = UtilisationGrouping.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy must be department or month");
+        }
+        int leaveYear = year != null ? year : LocalDate.now().getYear();
+        LeaveUtilisationDto utilisation = analyticsService.getLeaveUtilisation(leaveYear, grouping);
+        return ResponseEntity.ok(utilisation);
+    }
+
+}
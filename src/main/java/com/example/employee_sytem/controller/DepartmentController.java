@@ -1,11 +1,16 @@
 package com.example.employee_sytem.controller;
 
 import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.DepartmentMembersRequestDto;
+import com.example.employee_sytem.dto.DepartmentReassignmentResultDto;
 import com.example.employee_sytem.service.DepartmentService;
+import com.example.employee_sytem.service.bulkhead.Bulkhead;
+import com.example.employee_sytem.service.bulkhead.Bulkheads;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -24,6 +29,7 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final Bulkheads bulkheads;
 
     /**
      * Creates a new department.
@@ -86,4 +92,28 @@ public class DepartmentController {
         return ResponseEntity.ok("Department Deleted Successfully");
     }
 
+    /**
+     * Moves many employees into a department at once.
+     * <p>
+     * The body selects the employees either by {@code employeeIds} or by the search filters
+     * {@code name}, {@code departmentId} and {@code active}. All moves run in one transaction, inside the
+     * bulk bulkhead; when it is full, the call is answered with 503 (Service Unavailable).
+     * </p>
+     *
+     * @param departmentId the ID of the department to move the employees into
+     * @param request the employee IDs or search filters selecting the employees
+     * @return ResponseEntity containing the number of moved employees, the IDs not found and HTTP status 200 (OK)
+     */
+    @PostMapping("{id}/members")
+    public ResponseEntity<DepartmentReassignmentResultDto> assignEmployees(@PathVariable("id") Long departmentId,
+                                                                           @RequestBody DepartmentMembersRequestDto request) {
+        if (!request.hasSelection()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide employeeIds or at least one filter");
+        }
+        try (Bulkhead.Permit permit = bulkheads.bulk().acquire()) {
+            DepartmentReassignmentResultDto result = departmentService.assignEmployees(departmentId, request);
+            return ResponseEntity.ok(result);
+        }
+    }
+
 }
@@ -1,20 +1,53 @@
 package com.example.employee_sytem.controller;
+import com.example.employee_sytem.dto.BulkImportResultDto;
 import com.example.employee_sytem.dto.DepartmentDto;
 import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.dto.EmployeePageDto;
+import com.example.employee_sytem.dto.LeaveDecisionDto;
+import com.example.employee_sytem.dto.LeaveDecisionResultDto;
+import com.example.employee_sytem.dto.LeaveLedgerReportDto;
 import com.example.employee_sytem.dto.LeaveRequestDTO;
+import com.example.employee_sytem.dto.LeaveRequestPageDto;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import com.example.employee_sytem.dto.OrgChartNodeDto;
 import com.example.employee_sytem.service.DepartmentService;
 import com.example.employee_sytem.service.DocumentService;
+import com.example.employee_sytem.service.EmployeeImportService;
 import com.example.employee_sytem.service.EmployeeService;
+import com.example.employee_sytem.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.example.employee_sytem.service.LeaveRequestServiceInterface;
+import com.example.employee_sytem.service.bulkhead.Bulkhead;
+import com.example.employee_sytem.service.bulkhead.Bulkheads;
+import com.example.employee_sytem.service.report.ReportCache;
+import com.example.employee_sytem.service.report.ReportRenderer;
+import com.example.employee_sytem.service.report.ReportRenderers;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
 
 /**
  * REST controller for managing employee operations.
@@ -36,6 +69,13 @@ import java.util.List;
  * The controller includes endpoints for managing employee data, assigning employees to departments,
  * handling employee leave requests, and generating reports, including downloadable PDF reports.
  * </p>
+ * <p>
+ * Reports, exports, full listings and bulk operations run inside the {@link Bulkheads}: when their
+ * bulkhead is full, they are answered with 503 (Service Unavailable) and a Retry-After header instead of
+ * taking threads and database connections from the other endpoints. Streamed responses, including reports
+ * served from the cache, hold their permit until the response is written or asynchronous processing ends,
+ * so the MVC task executor never runs more streams than the report and export permits together.
+ * </p>
  *
  * @author Kunal Kale
  */
@@ -45,9 +85,15 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
     private final LeaveRequestServiceInterface leaveRequestService;
     private final DepartmentService departmentService;
     private final DocumentService documentService;
+    private final ExportService exportService;
+    private final ReportCache reportCache;
+    private final ReportRenderers reportRenderers;
+    private final Bulkheads bulkheads;
+    private final ObjectMapper objectMapper;
 
     /**
      * Adds a new employee.
@@ -61,6 +107,31 @@ public class EmployeeController {
         return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates many employees from an uploaded NDJSON or CSV file.
+     * <p>
+     * The body is parsed incrementally and inserted in JDBC batches. Rows that cannot be imported
+     * (e.g. a duplicate email) are reported individually and do not abort the rest of the load.
+     * CSV uploads start with a header row naming the firstName, lastName, email and departmentId columns.
+     * </p>
+     *
+     * @param contentType the content type of the upload ({@code application/x-ndjson} or {@code text/csv})
+     * @param body the uploaded file content
+     * @return ResponseEntity containing the BulkImportResultDto and HTTP status 200 (OK)
+     * @throws IOException if the upload cannot be read
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkImportResultDto> bulkCreateEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        EmployeeImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? EmployeeImportService.Format.NDJSON
+                : EmployeeImportService.Format.CSV;
+        try (Bulkhead.Permit permit = bulkheads.bulk().acquire()) {
+            BulkImportResultDto result = employeeImportService.importEmployees(body, format);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     /**
      * Retrieves an employee by their ID.
      *
@@ -75,13 +146,63 @@ public class EmployeeController {
 
     /**
      * Retrieves all employees.
+     * <p>
+     * The employees are streamed as a JSON array straight from a database cursor,
+     * so the response is written row by row and memory stays flat regardless of table size.
+     * </p>
      *
-     * @return ResponseEntity containing a list of EmployeeDto and HTTP status 200 (OK)
+     * @return ResponseEntity containing a streamed JSON array of EmployeeDto and HTTP status 200 (OK)
      */
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
-        List<EmployeeDto> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<StreamingResponseBody> getAllEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                employeeService.streamAllEmployees(employee -> {
+                    try {
+                        objectMapper.writeValue(generator, employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(releasing(bulkheads.export().acquire(), body));
+    }
+
+    /**
+     * Retrieves one page of employees using keyset pagination.
+     *
+     * @param after the last employee ID from the previous page (optional, omit for the first page)
+     * @param limit the maximum number of employees to return (default 100, at most 1000)
+     * @return ResponseEntity containing the EmployeePageDto with the next cursor and HTTP status 200 (OK)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePageDto> getEmployeesPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        EmployeePageDto page = employeeService.getEmployeesPage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exports all employees for warehouse loads.
+     * <p>
+     * Employees are read from a database cursor and written to the response as they are read, so the
+     * export runs in constant memory however many employees there are.
+     * </p>
+     *
+     * @param format "csv" or "ndjson" (defaults to "csv")
+     * @return ResponseEntity streaming the employees and HTTP status 200 (OK)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") String format) {
+        ExportService.Format exportFormat = parseExportFormat(format);
+        StreamingResponseBody body = outputStream -> exportService.exportEmployees(exportFormat, outputStream);
+        return exportResponse(exportFormat, "employees", releasing(bulkheads.export().acquire(), body));
     }
 
     /**
@@ -141,20 +262,57 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Retrieves the reporting subtree below an employee.
+     *
+     * @param employeeId the ID of the manager at the root of the subtree
+     * @param depth the maximum number of levels to descend (optional, defaults to the full subtree)
+     * @return ResponseEntity containing the reports ordered by depth and HTTP status 200 (OK)
+     */
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<List<OrgChartNodeDto>> getReports(@PathVariable("id") Long employeeId,
+                                                            @RequestParam(required = false) Integer depth) {
+        List<OrgChartNodeDto> reports = employeeService.getReports(employeeId, depth);
+        return ResponseEntity.ok(reports);
+    }
+
+    /**
+     * Retrieves the management chain above an employee.
+     *
+     * @param employeeId the ID of the employee
+     * @return ResponseEntity containing the managers from the direct manager upwards and HTTP status 200 (OK)
+     */
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<OrgChartNodeDto>> getManagementChain(@PathVariable("id") Long employeeId) {
+        List<OrgChartNodeDto> managers = employeeService.getManagementChain(employeeId);
+        return ResponseEntity.ok(managers);
+    }
+
     /**
      * Search employees based on filters like name, department, and active status.
+     * <p>
+     * The name is matched against first name, last name and email, and results are ranked and paged.
+     * </p>
      *
-     * @param name the name of the employee to search (optional)
+     * @param name the name or email of the employee to search (optional)
      * @param departmentId the department ID to filter employees by (optional)
      * @param active the active status of employees to filter (optional)
-     * @return ResponseEntity containing a list of matching EmployeeDto and HTTP status 200 (OK)
+     * @param page the zero-based page number (default 0)
+     * @param size the number of employees per page (default 20, at most 200)
+     * @return ResponseEntity containing a list of matching EmployeeDto and HTTP status 200 (OK),
+     * or 400 (Bad Request) for a negative page or a size below 1
      */
     @GetMapping("/search")
     public ResponseEntity<List<EmployeeDto>> searchEmployees(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) Long departmentId,
-            @RequestParam(required = false) Boolean active) {
-        List<EmployeeDto> employees = employeeService.searchEmployees(name, departmentId, active);
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must not be negative and size must be positive");
+        }
+        List<EmployeeDto> employees = employeeService.searchEmployees(name, departmentId, active, page, size);
         return ResponseEntity.ok(employees);
     }
 
@@ -196,6 +354,40 @@ public class EmployeeController {
         return ResponseEntity.ok(deniedRequest);
     }
 
+    /**
+     * Cancel a leave request.
+     *
+     * @param id the ID of the leave request to cancel
+     * @return ResponseEntity containing the cancelled LeaveRequestDTO and HTTP status 200 (OK)
+     */
+    @PutMapping("/leaves/{id}/cancel")
+    public ResponseEntity<LeaveRequestDTO> cancelLeaveRequest(@PathVariable Long id) {
+        LeaveRequestDTO cancelledRequest = leaveRequestService.cancelLeaveRequest(id);
+        return ResponseEntity.ok(cancelledRequest);
+    }
+
+    /**
+     * Approve, deny or cancel many leave requests in one call.
+     * <p>
+     * Each item names a leave request and a decision ({@code APPROVE}, {@code DENY} or {@code CANCEL}).
+     * All decisions run in one transaction; items that cannot be applied, such as approvals exceeding
+     * the remaining leave balance, are rejected individually in the results.
+     * </p>
+     *
+     * @param decisions the leave request IDs and decisions
+     * @return ResponseEntity containing one LeaveDecisionResultDto per decision and HTTP status 200 (OK)
+     */
+    @PutMapping("/leaves/decisions")
+    public ResponseEntity<List<LeaveDecisionResultDto>> decideLeaveRequests(@RequestBody List<LeaveDecisionDto> decisions) {
+        if (decisions.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide at least one decision");
+        }
+        try (Bulkhead.Permit permit = bulkheads.bulk().acquire()) {
+            List<LeaveDecisionResultDto> results = leaveRequestService.decideLeaveRequests(decisions);
+            return ResponseEntity.ok(results);
+        }
+    }
+
     /**
      * Retrieve all leave requests for a specific employee.
      *
@@ -209,14 +401,61 @@ public class EmployeeController {
     }
 
     /**
-     * Retrieve all leave requests in the system.
+     * Retrieve one page of leave requests in the system, optionally filtered.
+     * <p>
+     * Leave requests are ordered by start date and ID and paged with a keyset cursor: pass the
+     * {@code nextCursor} of a page as {@code cursor} to fetch the next one.
+     * </p>
      *
-     * @return ResponseEntity containing a list of LeaveRequestDTO and HTTP status 200 (OK)
+     * @param status the status to filter by, e.g. PENDING or APPROVED (optional)
+     * @param from the first day of the date range, ISO date (optional)
+     * @param to the last day of the date range, inclusive, ISO date (optional)
+     * @param departmentId the department of the requesting employees (optional)
+     * @param employeeId the requesting employee (optional)
+     * @param cursor the {@code nextCursor} of the previous page (optional, omit for the first page)
+     * @param limit the maximum number of leave requests to return (default 100, at most 1000)
+     * @return ResponseEntity containing the LeaveRequestPageDto and HTTP status 200 (OK)
      */
     @GetMapping("/leaves")
-    public ResponseEntity<List<LeaveRequestDTO>> getAllLeaveRequests() {
-        List<LeaveRequestDTO> requests = leaveRequestService.getAllLeaveRequests();
-        return ResponseEntity.ok(requests);
+    public ResponseEntity<LeaveRequestPageDto> getLeaveRequestsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        LocalDate afterStartDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                int separator = cursor.indexOf(':');
+                afterStartDate = LocalDate.parse(cursor.substring(0, separator));
+                afterId = Long.valueOf(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+            }
+        }
+        LeaveRequestPageDto page = leaveRequestService.getLeaveRequestsPage(
+                status, from, to, departmentId, employeeId, afterStartDate, afterId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exports all leave requests for warehouse loads.
+     * <p>
+     * Leave requests are read from a database cursor and written to the response as they are read, so
+     * the export runs in constant memory however many leave requests there are.
+     * </p>
+     *
+     * @param format "csv" or "ndjson" (defaults to "csv")
+     * @return ResponseEntity streaming the leave requests and HTTP status 200 (OK)
+     */
+    @GetMapping("/leaves/export")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(@RequestParam(defaultValue = "csv") String format) {
+        ExportService.Format exportFormat = parseExportFormat(format);
+        StreamingResponseBody body = outputStream -> exportService.exportLeaveRequests(exportFormat, outputStream);
+        return exportResponse(exportFormat, "leave_requests", releasing(bulkheads.export().acquire(), body));
     }
 
     /**
@@ -231,29 +470,181 @@ public class EmployeeController {
         return ResponseEntity.ok(leaveSummary);
     }
 
+    /**
+     * Compares the leave-balance ledger with the approved leave requests without changing it.
+     *
+     * @return ResponseEntity containing the LeaveLedgerReportDto with any drifted balances and HTTP status 200 (OK)
+     */
+    @GetMapping("/leaves/ledger/verify")
+    public ResponseEntity<LeaveLedgerReportDto> verifyLeaveLedger() {
+        try (Bulkhead.Permit permit = bulkheads.bulk().acquire()) {
+            LeaveLedgerReportDto report = leaveRequestService.verifyLeaveLedger();
+            return ResponseEntity.ok(report);
+        }
+    }
+
+    /**
+     * Rebuilds the leave-balance ledger from the approved leave requests.
+     *
+     * @return ResponseEntity containing the LeaveLedgerReportDto with the corrected balances and HTTP status 200 (OK)
+     */
+    @PostMapping("/leaves/ledger/rebuild")
+    public ResponseEntity<LeaveLedgerReportDto> rebuildLeaveLedger() {
+        try (Bulkhead.Permit permit = bulkheads.bulk().acquire()) {
+            LeaveLedgerReportDto report = leaveRequestService.rebuildLeaveLedger();
+            return ResponseEntity.ok(report);
+        }
+    }
+
     /**
      * Endpoint to download the Employee Report as a PDF.
      * <p>
-     * Accepts employee IDs as a query parameter and generates a PDF report.
+     * Accepts employee IDs as a query parameter and generates a PDF report. The IDs are validated before
+     * the response starts; the PDF is then written straight to the response while the employees are
+     * loaded in chunks, so memory use does not grow with the size of the report.
+     * </p>
+     * <p>
+     * Rendered reports are cached and carry a strong ETag derived from the employee set and the version of
+     * their data. A request whose If-None-Match matches the current ETag gets 304 (Not Modified), and a
+     * report that is cached at the current version is served from the cache, both without rendering.
      * </p>
      *
      * @param employeeIds a list of employee IDs for whom the report is generated
-     * @return ResponseEntity containing the PDF report as a byte array and HTTP status 200 (OK)
-     * @throws IOException if there's an error generating the PDF
+     * @param webRequest the current request, used to evaluate If-None-Match
+     * @return ResponseEntity streaming the PDF report and HTTP status 200 (OK), or null after a 304 (Not Modified)
      */
     @GetMapping("/employee-report")
-    public ResponseEntity<byte[]> downloadEmployeeReport(@RequestParam List<Long> employeeIds) throws IOException {
-        List<EmployeeDto> employees = employeeService.getEmployeesByIds(employeeIds);
-        byte[] pdfContent = documentService.generateEmployeeReportPdf(employees);
+    public ResponseEntity<StreamingResponseBody> downloadEmployeeReport(@RequestParam List<Long> employeeIds,
+                                                                        WebRequest webRequest) throws IOException {
+        List<Long> existingIds = employeeService.getExistingEmployeeIds(employeeIds);
+        return employeeReport(reportRenderers.find("pdf").orElseThrow(), existingIds, webRequest);
+    }
+
+    /**
+     * Endpoint to download the Employee Report in any format, such as pdf, xlsx, csv or json.
+     * <p>
+     * Includes the given employees, the employees of one department, or every employee if neither is
+     * passed, with their department and leave summary. The rows are streamed from the database into the
+     * response, so memory use stays constant however many employees are exported.
+     * </p>
+     * <p>
+     * Reports in the cached formats (pdf and xlsx by default) are cached and carry an ETag as for
+     * {@code /employee-report}. Full-org and department reports are also pre-rendered off-peak, so they
+     * are usually served from the cache.
+     * </p>
+     *
+     * @param format the format of the report (pdf, xlsx, csv or json)
+     * @param employeeIds the IDs of the employees to include (optional)
+     * @param departmentId the department whose employees to include (optional; not together with employeeIds)
+     * @param webRequest the current request, used to evaluate If-None-Match
+     * @return ResponseEntity streaming the report and HTTP status 200 (OK), or null after a 304 (Not Modified)
+     */
+    @GetMapping("/employee-report/{format}")
+    public ResponseEntity<StreamingResponseBody> downloadEmployeeReportAs(
+            @PathVariable String format,
+            @RequestParam(required = false) List<Long> employeeIds,
+            @RequestParam(required = false) Long departmentId,
+            WebRequest webRequest) throws IOException {
+        ReportRenderer renderer = reportRenderers.find(format)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "format must be one of " + String.join(", ", reportRenderers.formats())));
+        if (employeeIds != null && departmentId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either employeeIds or departmentId");
+        }
+        List<Long> ids = departmentId != null ? employeeService.getEmployeeIdsByDepartment(departmentId)
+                : employeeIds != null ? employeeService.getExistingEmployeeIds(employeeIds)
+                : null;
+        return employeeReport(renderer, ids, webRequest);
+    }
+
+    /**
+     * Serves a report from the cache if it is current there, and renders it otherwise.
+     *
+     * @param employeeIds the sorted IDs of the employees in the report, or null for all employees
+     */
+    private ResponseEntity<StreamingResponseBody> employeeReport(ReportRenderer renderer, List<Long> employeeIds,
+                                                                 WebRequest webRequest) throws IOException {
+        String format = renderer.format();
+        if (!reportCache.isCached(format)) {
+            StreamingResponseBody body = outputStream -> documentService.writeEmployeeReport(format, employeeIds, outputStream);
+            return reportResponse(renderer, releasing(bulkheads.report().acquire(), body), null);
+        }
+
+        ReportCache.Key key = reportCache.keyFor(format,
+                employeeIds != null ? employeeIds : employeeService.getAllEmployeeIds());
+        if (webRequest.checkNotModified(key.etag())) {
+            return null; // 304 with the ETag; nothing is rendered
+        }
+        Bulkhead.Permit permit = bulkheads.report().acquire(); // Cached copies also hold an MVC executor thread
+        InputStream cached;
+        try {
+            cached = reportCache.open(key);
+        } catch (IOException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        StreamingResponseBody body = cached != null
+                ? outputStream -> {
+                    try (InputStream report = cached) {
+                        report.transferTo(outputStream);
+                    }
+                }
+                : outputStream -> reportCache.writeThrough(key, outputStream,
+                        target -> documentService.writeEmployeeReport(format, employeeIds, target));
+        return reportResponse(renderer, releasing(permit, body), key.etag());
+    }
+
+    /**
+     * Gives the permit of a streamed response back once the response has been written, or has failed.
+     * <p>
+     * The permit is also given back when asynchronous processing of the request completes, which covers
+     * responses whose task never runs: the MVC task executor rejected it, or the request timed out
+     * while it was still queued.
+     * </p>
+     */
+    private static StreamingResponseBody releasing(Bulkhead.Permit permit, StreamingResponseBody body) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(permit, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                permit.close();
+            }
+        });
+        return outputStream -> {
+            try (permit) {
+                body.writeTo(outputStream);
+            }
+        };
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=employee_report.pdf");
-        headers.add("Content-Type", "application/pdf");
+    private static ExportService.Format parseExportFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+    }
 
+    private static ResponseEntity<StreamingResponseBody> exportResponse(ExportService.Format format, String name,
+                                                                       StreamingResponseBody body) {
+        boolean csv = format == ExportService.Format.CSV;
         return ResponseEntity.ok()
-                .headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfContent);
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + name + (csv ? ".csv" : ".ndjson"))
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> reportResponse(ReportRenderer renderer,
+                                                                        StreamingResponseBody body, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employee_report." + renderer.format())
+                .contentType(MediaType.parseMediaType(renderer.contentType()));
+        if (etag != null) {
+            response.eTag(etag).cacheControl(CacheControl.noCache()); // Clients revalidate with If-None-Match
+        }
+        return response.body(body);
     }
 
 }
@@ -0,0 +1,48 @@
+package com.example.employee_sytem.controller;
+
+import com.example.employee_sytem.dto.AbsenceDto;
+import com.example.employee_sytem.service.LeaveRequestServiceInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for leave queries that are not tied to a single employee.
+ * <p>
+ * This controller exposes the absence lookups used by staffing dashboards.
+ * </p>
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/leaves")
+public class LeaveController {
+
+    private final LeaveRequestServiceInterface leaveRequestService;
+
+    /**
+     * Retrieves the employees on approved leave during a date range.
+     *
+     * @param from the first day of the range (ISO date, e.g. 2024-07-01)
+     * @param to the last day of the range, inclusive (ISO date)
+     * @param departmentId the department to filter by (optional)
+     * @return ResponseEntity containing the overlapping absences ordered by start date and HTTP status 200 (OK)
+     */
+    @GetMapping("/absences")
+    public ResponseEntity<List<AbsenceDto>> getAbsences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long departmentId) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must not be before from");
+        }
+        List<AbsenceDto> absences = leaveRequestService.getAbsences(from, to, departmentId);
+        return ResponseEntity.ok(absences);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example.employee_sytem.controller;
+
+import com.example.employee_sytem.dto.ReportJobDto;
+import com.example.employee_sytem.dto.ReportJobRequestDto;
+import com.example.employee_sytem.service.ReportJobService;
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST controller for asynchronous report generation.
+ * <p>
+ * Reports are submitted as jobs that render in the background. Clients poll the job until it has
+ * completed and then download the report, so no request is held open while a large report renders.
+ * </p>
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submits an employee report job.
+     *
+     * @param request the ReportJobRequestDto naming the employees to include
+     * @return ResponseEntity containing the queued ReportJobDto, its location and HTTP status 202 (Accepted)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDto> submitReportJob(@RequestBody ReportJobRequestDto request) {
+        if (request.getEmployeeIds() == null || request.getEmployeeIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "employeeIds must not be empty");
+        }
+        ReportJobDto job;
+        try {
+            job = reportJobService.submitEmployeeReport(request.getEmployeeIds());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many report jobs are queued", e);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Retrieves the status of a report job.
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity containing the ReportJobDto and HTTP status 200 (OK)
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJobDto> getReportJob(@PathVariable("id") String jobId) {
+        ReportJobDto job = reportJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Downloads the report of a completed job.
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity streaming the PDF report and HTTP status 200 (OK), or 409 (Conflict) if the job
+     *         has not completed
+     */
+    @GetMapping("/jobs/{id}/content")
+    public ResponseEntity<Resource> downloadReport(@PathVariable("id") String jobId) {
+        Path file;
+        try {
+            file = reportJobService.getReportFile(jobId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employee_report.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(new FileSystemResource(file));
+    }
+
+    /**
+     * Cancels a queued or running report job.
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity containing the ReportJobDto after the cancellation and HTTP status 200 (OK)
+     */
+    @PutMapping("/jobs/{id}/cancel")
+    public ResponseEntity<ReportJobDto> cancelReportJob(@PathVariable("id") String jobId) {
+        ReportJobDto job = reportJobService.cancelJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+}
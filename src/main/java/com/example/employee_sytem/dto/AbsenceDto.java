@@ -0,0 +1,45 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for an approved leave that makes an employee absent.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceDto {
+
+    /**
+     * The ID of the approved leave request.
+     */
+    private Long leaveRequestId;
+
+    /**
+     * The ID of the absent employee.
+     */
+    private Long employeeId;
+
+    /**
+     * The full name of the absent employee.
+     */
+    private String employeeName;
+
+    /**
+     * The ID of the employee's department, or null if the employee has none.
+     */
+    private Long departmentId;
+
+    /**
+     * The first day of the absence.
+     */
+    private LocalDate startDate;
+
+    /**
+     * The last day of the absence (inclusive).
+     */
+    private LocalDate endDate;
+}
@@ -0,0 +1,28 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) describing one row that a bulk employee import rejected.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDto {
+
+    /**
+     * The 1-based number of the data row in the uploaded file (the CSV header is not counted).
+     */
+    private long row;
+
+    /**
+     * The email address on the rejected row, if it could be read.
+     */
+    private String email;
+
+    /**
+     * Why the row was rejected (e.g. a duplicate email or an unknown department).
+     */
+    private String message;
+}
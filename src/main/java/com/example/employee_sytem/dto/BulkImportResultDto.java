@@ -0,0 +1,34 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising the outcome of a bulk employee import.
+ * <p>
+ * Rows are imported independently: a rejected row is reported in {@code errors}
+ * and does not stop the remaining rows from being loaded.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+
+    /**
+     * The number of data rows read from the upload.
+     */
+    private long totalRows;
+
+    /**
+     * The number of employees that were created.
+     */
+    private long imported;
+
+    /**
+     * The rows that were rejected, with the reason for each.
+     */
+    private List<BulkImportErrorDto> errors;
+}
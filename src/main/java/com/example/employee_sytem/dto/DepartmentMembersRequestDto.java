@@ -0,0 +1,49 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) selecting the employees to move into a department.
+ * <p>
+ * Employees are selected either by an explicit list of IDs or, when no IDs are given, by the same
+ * filters accepted by the employee search (name, current department and active status).
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentMembersRequestDto {
+
+    /**
+     * The IDs of the employees to move. Takes precedence over the filters when present.
+     */
+    private List<Long> employeeIds;
+
+    /**
+     * Filter: the name or email to match (partial, case-insensitive).
+     */
+    private String name;
+
+    /**
+     * Filter: the department the employees currently belong to.
+     */
+    private Long departmentId;
+
+    /**
+     * Filter: the active status of the employees.
+     */
+    private Boolean active;
+
+    /**
+     * Indicates whether this request selects any employees at all, by ID or by at least one filter.
+     *
+     * @return true if employee IDs or at least one filter are present
+     */
+    public boolean hasSelection() {
+        return (employeeIds != null && !employeeIds.isEmpty())
+                || (name != null && !name.isBlank()) || departmentId != null || active != null;
+    }
+}
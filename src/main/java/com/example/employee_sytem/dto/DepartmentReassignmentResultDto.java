@@ -0,0 +1,25 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of a bulk department reassignment.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentReassignmentResultDto {
+
+    /**
+     * The number of employees moved into the department (employees already in it are not counted).
+     */
+    private long moved;
+
+    /**
+     * The requested employee IDs that do not exist.
+     */
+    private List<Long> notFound;
+}
@@ -0,0 +1,30 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a keyset-paginated page of employees.
+ * <p>
+ * This class carries one page of employees ordered by ID together with the cursor
+ * that the client passes back as {@code after} to fetch the next page.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDto {
+
+    /**
+     * The employees on this page, ordered by ascending ID.
+     */
+    private List<EmployeeDto> employees;
+
+    /**
+     * The cursor for the next page (the last ID on this page).
+     * This field is null when there are no more employees to fetch.
+     */
+    private Long nextCursor;
+}
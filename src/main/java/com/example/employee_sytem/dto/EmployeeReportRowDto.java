@@ -0,0 +1,71 @@
+package com.example.employee_sytem.dto;
+
+import com.example.employee_sytem.entity.LeaveBalance;
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) holding one row of the employee report.
+ * <p>
+ * A row carries the employee, their department and their leave taken in the current year, so a report
+ * can be written from a single query without looking departments or leave summaries up per employee.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeReportRowDto {
+
+    /**
+     * The ID of the employee.
+     */
+    private Long id;
+
+    /**
+     * The first name of the employee.
+     */
+    private String firstName;
+
+    /**
+     * The last name of the employee.
+     */
+    private String lastName;
+
+    /**
+     * The email of the employee.
+     */
+    private String email;
+
+    /**
+     * The ID of the employee's department, or null if they have none.
+     */
+    private Long departmentId;
+
+    /**
+     * The name of the employee's department, or null if they have none.
+     */
+    private String departmentName;
+
+    /**
+     * The leave days the employee has taken in the current year.
+     */
+    private Long takenLeaves;
+
+    /**
+     * Returns the leave days the employee is entitled to in the current year.
+     *
+     * @return the yearly leave entitlement
+     */
+    public int getTotalLeaveDays() {
+        return LeaveBalance.ANNUAL_ENTITLEMENT_DAYS;
+    }
+
+    /**
+     * Returns the leave days the employee has left in the current year.
+     *
+     * @return the entitlement minus the leave taken
+     */
+    public long getRemainingLeaves() {
+        return LeaveBalance.ANNUAL_ENTITLEMENT_DAYS - takenLeaves;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) for one decision in a batch of leave request decisions.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveDecisionDto {
+
+    /**
+     * The ID of the leave request the decision applies to.
+     */
+    private Long id;
+
+    /**
+     * The decision to apply: "APPROVE", "DENY" or "CANCEL" (case-insensitive).
+     */
+    private String decision;
+}
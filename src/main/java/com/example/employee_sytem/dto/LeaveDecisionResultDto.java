@@ -0,0 +1,33 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) reporting the outcome of one decision in a batch of leave request decisions.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveDecisionResultDto {
+
+    /**
+     * The ID of the leave request the decision applied to.
+     */
+    private Long id;
+
+    /**
+     * Whether the decision was applied.
+     */
+    private boolean applied;
+
+    /**
+     * The status of the leave request after the batch, or null if the leave request does not exist.
+     */
+    private String status;
+
+    /**
+     * Why the decision was not applied (e.g. an insufficient leave balance); null if it was applied.
+     */
+    private String message;
+}
@@ -0,0 +1,37 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) for one drifted entry of the leave-balance ledger.
+ * <p>
+ * This class describes an employee and leave year whose ledger value differs from the
+ * value recomputed from the approved leave requests.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerDriftDto {
+
+    /**
+     * The ID of the employee whose balance drifted.
+     */
+    private Long employeeId;
+
+    /**
+     * The leave year of the drifted balance.
+     */
+    private Integer year;
+
+    /**
+     * The leave days taken according to the approved leave requests.
+     */
+    private long expectedDays;
+
+    /**
+     * The leave days taken according to the ledger.
+     */
+    private long ledgerDays;
+}
@@ -0,0 +1,26 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of verifying or rebuilding the leave-balance ledger.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerReportDto {
+
+    /**
+     * The ledger entries that differed from the approved leave requests when they were compared.
+     * An empty list means the ledger was consistent.
+     */
+    private List<LeaveLedgerDriftDto> drift;
+
+    /**
+     * Whether the ledger was rebuilt from the leave requests after the comparison.
+     */
+    private boolean rebuilt;
+}
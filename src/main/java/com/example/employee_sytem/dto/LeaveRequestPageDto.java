@@ -0,0 +1,30 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a keyset-paginated page of leave requests.
+ * <p>
+ * This class carries one page of leave requests ordered by start date and ID together with the cursor
+ * that the client passes back as {@code cursor} to fetch the next page.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestPageDto {
+
+    /**
+     * The leave requests on this page, ordered by ascending start date and ID.
+     */
+    private List<LeaveRequestDTO> leaveRequests;
+
+    /**
+     * The cursor for the next page, in the form {@code <startDate>:<id>} of the last request on this page.
+     * This field is null when there are no more leave requests to fetch.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the leave utilisation of one year, grouped by department or by month.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveUtilisationDto {
+
+    /**
+     * The leave year the utilisation covers.
+     */
+    private int year;
+
+    /**
+     * How the rows are grouped: "department" or "month".
+     */
+    private String groupBy;
+
+    /**
+     * One row per department (ordered by department ID, employees without a department last)
+     * or per month (January to December).
+     */
+    private List<LeaveUtilisationRowDto> rows;
+}
@@ -0,0 +1,44 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) for one row of a leave utilisation report.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveUtilisationRowDto {
+
+    /**
+     * The department of the row when grouped by department; null for employees without a department
+     * and when grouped by month.
+     */
+    private Long departmentId;
+
+    /**
+     * The name of the department when grouped by department.
+     */
+    private String departmentName;
+
+    /**
+     * The month of the row (1 to 12) when grouped by month.
+     */
+    private Integer month;
+
+    /**
+     * The number of employees the row covers.
+     */
+    private long employees;
+
+    /**
+     * The approved leave taken, in working days.
+     */
+    private long leaveDays;
+
+    /**
+     * The leave taken as a fraction of the yearly leave entitlement of the employees (0.0 to 1.0).
+     */
+    private double utilisation;
+}
@@ -0,0 +1,53 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) for one employee in an org-chart query result.
+ * <p>
+ * Subtree and management-chain queries return a flat list of these nodes. Each node carries its
+ * manager's ID and its distance from the employee the query started at, so clients can rebuild the tree.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgChartNodeDto {
+
+    /**
+     * The unique identifier of the employee.
+     */
+    private Long id;
+
+    /**
+     * The first name of the employee.
+     */
+    private String firstName;
+
+    /**
+     * The last name of the employee.
+     */
+    private String lastName;
+
+    /**
+     * The email address of the employee.
+     */
+    private String email;
+
+    /**
+     * The ID of the department the employee belongs to, or null if unassigned.
+     */
+    private Long departmentId;
+
+    /**
+     * The ID of the employee's manager, or null for the top of the hierarchy.
+     */
+    private Long managerId;
+
+    /**
+     * The number of reporting levels between this employee and the employee the query started at.
+     * Direct reports and the direct manager have depth 1.
+     */
+    private int depth;
+}
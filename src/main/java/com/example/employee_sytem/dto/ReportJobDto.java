@@ -0,0 +1,55 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) describing the state of an asynchronous report job.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+
+    /**
+     * The ID of the job.
+     */
+    private String id;
+
+    /**
+     * The status of the job (QUEUED, RUNNING, COMPLETED, FAILED or CANCELLED).
+     */
+    private String status;
+
+    /**
+     * The number of employees the report covers.
+     */
+    private int employees;
+
+    /**
+     * When the job was submitted.
+     */
+    private Instant createdAt;
+
+    /**
+     * When rendering started; null while the job is queued.
+     */
+    private Instant startedAt;
+
+    /**
+     * When the job ended; null until it has completed, failed or been cancelled.
+     */
+    private Instant finishedAt;
+
+    /**
+     * The size of the finished report in bytes; 0 until the job has completed.
+     */
+    private long sizeBytes;
+
+    /**
+     * Why the job failed; null unless the status is FAILED.
+     */
+    private String error;
+}
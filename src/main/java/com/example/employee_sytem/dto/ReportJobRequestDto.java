@@ -0,0 +1,20 @@
+package com.example.employee_sytem.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing a report to be generated asynchronously.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequestDto {
+
+    /**
+     * The IDs of the employees to include in the report.
+     */
+    private List<Long> employeeIds;
+}
@@ -24,13 +24,15 @@ public class Department {
 
     /**
      * The unique identifier for the department.
-     * This field is automatically generated by the database.
+     * This field is generated from a database sequence with a pooled optimizer,
+     * so inserts can be batched.
      * <p>
      * This is the primary key for the department entity.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -15,16 +15,20 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_manager_id", columnList = "manager_id") // Drives the org-chart CTEs
+})
 @Data
 public class Employee {
 
     /**
      * The unique identifier for the employee.
-     * This field is automatically generated by the database.
+     * This field is generated from a database sequence with a pooled optimizer,
+     * so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     /**
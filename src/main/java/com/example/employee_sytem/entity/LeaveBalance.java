@@ -0,0 +1,53 @@
+package com.example.employee_sytem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class representing the leave-balance ledger of an employee for one leave year.
+ * <p>
+ * This class is mapped to the "leave_balances" table. Each row holds the number of approved leave days
+ * an employee has taken in a year, and is updated in the same transaction as the leave request whose
+ * approval, denial or cancellation changes it. A leave summary is therefore a single primary-key read
+ * instead of a scan over the employee's approved leave history.
+ * </p>
+ * <p>
+ * A leave request counts towards the year in which it starts. Every employee is entitled to
+ * {@link #ANNUAL_ENTITLEMENT_DAYS} leave days per year.
+ * </p>
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(LeaveBalanceId.class)
+@Table(name = "leave_balances")
+public class LeaveBalance {
+
+    /**
+     * The leave days every employee is entitled to per year.
+     */
+    public static final int ANNUAL_ENTITLEMENT_DAYS = 27;
+
+    /**
+     * The ID of the employee the balance belongs to.
+     */
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    /**
+     * The leave year the balance covers.
+     */
+    @Id
+    @Column(name = "leave_year")
+    private Integer year;
+
+    /**
+     * The number of approved leave days taken in the year.
+     */
+    @Column(name = "taken_days", nullable = false)
+    private long takenDays;
+}
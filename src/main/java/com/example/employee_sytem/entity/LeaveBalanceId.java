@@ -0,0 +1,26 @@
+package com.example.employee_sytem.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of a {@link LeaveBalance}: one ledger row per employee and leave year.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceId implements Serializable {
+
+    /**
+     * The ID of the employee the balance belongs to.
+     */
+    private Long employeeId;
+
+    /**
+     * The leave year the balance covers.
+     */
+    private Integer year;
+}
@@ -14,22 +14,33 @@ import java.time.temporal.ChronoUnit;
  * associated with a leave request, including the employee who requested the leave,
  * the start and end dates, the reason for leave, and the current status of the request.
  * </p>
+ * <p>
+ * The table is partitioned by leave year in PostgreSQL (see {@code LeaveRequestPartitions}), so its
+ * primary key in the database is {@code (id, leave_year)}; the ID alone is still unique.
+ * </p>
  */
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        // Keyset order of the leave request listing, alone and behind its status and employee filters
+        @Index(name = "idx_leave_requests_start_date_id", columnList = "start_date, id"),
+        @Index(name = "idx_leave_requests_status_start_date_id", columnList = "status, start_date, id"),
+        @Index(name = "idx_leave_requests_employee_start_date_id", columnList = "employee_id, start_date, id")
+})
 public class LeaveRequest {
 
     /**
      * The unique identifier for the leave request.
-     * This field is automatically generated by the database.
+     * This field is generated from a database sequence with a pooled optimizer,
+     * so inserts can be batched.
      * <p>
      * This is the primary key for the leave request entity.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_requests_seq")
+    @SequenceGenerator(name = "leave_requests_seq", sequenceName = "leave_requests_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -76,9 +87,26 @@ public class LeaveRequest {
     private String status;
 
     /**
-     * Calculates the number of leave days requested by the employee.
+     * The leave year the request counts towards: the year in which it starts.
+     * This field is derived from the start date whenever the request is saved and is the
+     * partition key of the leave_requests table.
+     */
+    @Column(name = "leave_year", nullable = false)
+    private Integer leaveYear;
+
+    /**
+     * Derives the leave year from the start date before the request is inserted or updated.
+     */
+    @PrePersist
+    @PreUpdate
+    void assignLeaveYear() {
+        leaveYear = startDate.getYear();
+    }
+
+    /**
+     * Calculates the number of calendar days spanned by the leave request.
      * This method calculates the number of days between the start and end date,
-     * inclusive of both dates.
+     * inclusive of both dates. Leave balances count working days instead; see {@code BusinessCalendar}.
      *
      * @return the number of leave days taken by the employee
      */
@@ -0,0 +1,17 @@
+package com.example.employee_sytem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published whenever a department is updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class DepartmentChangedEvent {
+
+    /**
+     * The ID of the department that changed.
+     */
+    private final Long departmentId;
+}
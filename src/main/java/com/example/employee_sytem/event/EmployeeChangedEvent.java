@@ -0,0 +1,35 @@
+package com.example.employee_sytem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Application event published whenever employees are created, updated, reassigned or deleted.
+ * <p>
+ * The event only carries the IDs of the affected employees. Listeners that keep derived state
+ * (such as the search index) reload the current rows themselves, and treat IDs that no longer
+ * exist as deletions.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+    /**
+     * The IDs of the employees that changed.
+     */
+    private final Collection<Long> employeeIds;
+
+    /**
+     * Convenience factory for a change that affects a single employee.
+     *
+     * @param employeeId the ID of the employee that changed
+     * @return an EmployeeChangedEvent for the given employee
+     */
+    public static EmployeeChangedEvent of(Long employeeId) {
+        return new EmployeeChangedEvent(List.of(employeeId));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.employee_sytem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Application event published when leave balances are corrected outside a leave request status change,
+ * such as by a rebuild of the leave-balance ledger.
+ * <p>
+ * Status changes publish a {@link LeaveRequestChangedEvent} instead, which implies the balance change.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class LeaveBalanceChangedEvent {
+
+    /**
+     * The IDs of the employees whose balances changed.
+     */
+    private final Collection<Long> employeeIds;
+}
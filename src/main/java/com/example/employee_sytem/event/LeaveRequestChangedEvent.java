@@ -0,0 +1,34 @@
+package com.example.employee_sytem.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Application event published whenever the status of leave requests changes.
+ * <p>
+ * The event only carries the IDs of the affected leave requests. Listeners that keep derived state
+ * (such as the absence index) reload the current rows themselves.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class LeaveRequestChangedEvent {
+
+    /**
+     * The IDs of the leave requests that changed.
+     */
+    private final Collection<Long> leaveRequestIds;
+
+    /**
+     * Convenience factory for a change that affects a single leave request.
+     *
+     * @param leaveRequestId the ID of the leave request that changed
+     * @return a LeaveRequestChangedEvent for the given leave request
+     */
+    public static LeaveRequestChangedEvent of(Long leaveRequestId) {
+        return new LeaveRequestChangedEvent(List.of(leaveRequestId));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.employee_sytem.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a bulkhead has no room for another call.
+ * <p>
+ * When thrown, it returns a 503 Service Unavailable HTTP status code with a Retry-After header
+ * telling the client how many seconds to wait before trying again.
+ * </p>
+ */
+public class BulkheadFullException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new BulkheadFullException.
+     *
+     * @param bulkhead the name of the full bulkhead
+     * @param retryAfter the delay suggested to the client
+     */
+    public BulkheadFullException(String bulkhead, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many " + bulkhead + " requests are in progress");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
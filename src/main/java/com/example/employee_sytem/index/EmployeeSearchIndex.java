@@ -0,0 +1,376 @@
+package com.example.employee_sytem.index;
+
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over employee first name, last name and email.
+ * <p>
+ * Every indexed employee is assigned an ordinal, and every three-character sequence (trigram) of its
+ * lower-cased full name and email maps to an ascending posting list of ordinals. A search for a term of
+ * three or more characters intersects the posting lists of the term's trigrams and only verifies the
+ * surviving candidates, instead of scanning the table the way {@code LIKE %:name%} does.
+ * </p>
+ * <p>
+ * The index is loaded once the application is ready and is then kept current by
+ * {@link EmployeeChangedEvent}s, which reload the affected rows after the writing transaction commits.
+ * Rows are reloaded while the write lock is held, so refreshes are applied in the order they read the
+ * database and a slower listener can never replace an entry with rows older than those already indexed.
+ * Removed and updated employees leave tombstoned ordinals behind; the posting lists are compacted
+ * in memory once tombstones outnumber live entries.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeSearchIndex {
+
+    private static final int GRAM = 3; // Length of an indexed character sequence
+    private static final int REFRESH_CHUNK_SIZE = 1000; // IDs reloaded per query on change events
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024; // Avoid compacting tiny indexes
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private Entry[] entries = new Entry[1024];
+    private int size;       // Number of ordinals handed out, including tombstones
+    private int liveCount;  // Number of ordinals that still hold an employee
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the initial load has completed and the index can serve searches.
+     *
+     * @return true once the index reflects the employees table
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads every employee into the index once the application has started.
+     * <p>
+     * Rows are streamed from a database cursor as lightweight projections. Change events
+     * that arrive during the load wait on the write lock and are applied afterwards.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<IndexedEmployee> employees = employeeRepository.streamAllIndexed()) {
+                    employees.forEach(this::add);
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee search index loaded {} employees in {} ms",
+                liveCount, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Re-indexes the employees named by the event once the writing transaction has committed.
+     * <p>
+     * The current rows are reloaded in chunks; IDs that are no longer present are removed from the index.
+     * </p>
+     *
+     * @param event the event naming the employees that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(event.getEmployeeIds()));
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            lock.writeLock().lock();
+            try {
+                List<IndexedEmployee> rows = employeeRepository.findIndexedByIdIn(chunk);
+                chunk.forEach(this::remove);
+                rows.forEach(this::add);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Searches the index and returns one page of ranked results.
+     * <p>
+     * Matches are ranked by how well the term matches a name or email (exact, prefix, word start,
+     * then anywhere), with ties broken by ascending ID. When no term is given, all employees that pass
+     * the filters are returned in ID order.
+     * </p>
+     *
+     * @param name the term to match against first name, last name and email (case-insensitive, optional)
+     * @param departmentId the department to filter by (optional)
+     * @param active the active status to filter by (optional)
+     * @param page the zero-based page number (not negative)
+     * @param pageSize the number of results per page (positive)
+     * @return the employees on the requested page, best matches first, or an empty list past the last page
+     */
+    public List<IndexedEmployee> search(String name, Long departmentId, Boolean active, int page, int pageSize) {
+        String term = normalize(name);
+        long limit = ((long) page + 1) * pageSize; // Long math: a far page must not overflow into a negative limit
+        Comparator<ScoredEntry> ranking = Comparator.comparingInt(ScoredEntry::score).reversed()
+                .thenComparing(scored -> scored.entry().employee().getId());
+        // Keep only the best `limit` matches: the heap head is the worst of those kept so far
+        PriorityQueue<ScoredEntry> best = new PriorityQueue<>(ranking.reversed());
+
+        lock.readLock().lock();
+        try {
+            forEachMatch(term, departmentId, active, entry -> {
+                best.add(new ScoredEntry(entry, score(entry, term)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredEntry> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        int from = (int) Math.min((long) page * pageSize, ranked.size());
+        return ranked.subList(from, ranked.size()).stream()
+                .map(scored -> scored.entry().employee())
+                .toList();
+    }
+
+    /**
+     * Returns the IDs of all employees that match the given search parameters, in no particular order.
+     *
+     * @param name the term to match against first name, last name and email (case-insensitive, optional)
+     * @param departmentId the department to filter by (optional)
+     * @param active the active status to filter by (optional)
+     * @return the IDs of every matching employee
+     */
+    public List<Long> matchingIds(String name, Long departmentId, Boolean active) {
+        String term = normalize(name);
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            forEachMatch(term, departmentId, active, entry -> ids.add(entry.employee().getId()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    private void forEachMatch(String term, Long departmentId, Boolean active, Consumer<Entry> consumer) {
+        forEachCandidate(term, ordinal -> {
+            Entry entry = entries[ordinal];
+            if (entry == null) {
+                return; // Tombstone left by an update or delete
+            }
+            IndexedEmployee employee = entry.employee();
+            if (departmentId != null && !departmentId.equals(employee.getDepartmentId())) {
+                return;
+            }
+            if (active != null && active != employee.isActive()) {
+                return;
+            }
+            if (term == null || entry.fullName().contains(term) || entry.email().contains(term)) {
+                consumer.accept(entry);
+            }
+        });
+    }
+
+    /**
+     * Enumerates candidate ordinals for a term by intersecting the posting lists of its trigrams,
+     * starting from the shortest list. Terms shorter than a trigram fall back to a scan of all entries.
+     */
+    private void forEachCandidate(String term, IntConsumer consumer) {
+        if (term == null || term.length() < GRAM) {
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                consumer.accept(ordinal);
+            }
+            return;
+        }
+
+        Set<Long> grams = new LinkedHashSet<>();
+        addGrams(term, grams);
+        IntList[] lists = new IntList[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                return; // A trigram nobody has, so nothing can match
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        IntList shortest = lists[0];
+        outer:
+        for (int p = 0; p < shortest.size; p++) {
+            int ordinal = shortest.values[p];
+            for (int l = 1; l < lists.length; l++) {
+                if (Arrays.binarySearch(lists[l].values, 0, lists[l].size, ordinal) < 0) {
+                    continue outer;
+                }
+            }
+            consumer.accept(ordinal);
+        }
+    }
+
+    private void add(IndexedEmployee employee) {
+        Entry entry = new Entry(employee, fullNameOf(employee), lower(employee.getEmail()),
+                lower(employee.getFirstName()), lower(employee.getLastName()));
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int ordinal = size++;
+        entries[ordinal] = entry;
+        liveCount++;
+        ordinalsById.put(employee.getId(), ordinal);
+        indexGrams(entry, ordinal);
+    }
+
+    private void remove(Long employeeId) {
+        Integer ordinal = ordinalsById.remove(employeeId);
+        if (ordinal != null) {
+            entries[ordinal] = null;
+            liveCount--;
+        }
+    }
+
+    private void indexGrams(Entry entry, int ordinal) {
+        Set<Long> grams = new LinkedHashSet<>();
+        addGrams(entry.fullName(), grams);
+        addGrams(entry.email(), grams);
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+        }
+    }
+
+    /**
+     * Rebuilds the ordinals and posting lists from the live entries once tombstones outnumber them.
+     * This runs purely in memory and keeps the posting lists sorted by ordinal.
+     */
+    private void compactIfNeeded() {
+        int tombstones = size - liveCount;
+        if (tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones < liveCount) {
+            return;
+        }
+        Entry[] live = Arrays.stream(entries, 0, size).filter(entry -> entry != null).toArray(Entry[]::new);
+        clear();
+        for (Entry entry : live) {
+            add(entry.employee());
+        }
+    }
+
+    private void clear() {
+        ordinalsById.clear();
+        postings.clear();
+        entries = new Entry[Math.max(1024, liveCount)];
+        size = 0;
+        liveCount = 0;
+    }
+
+    /**
+     * Scores how well an entry matches a term: 4 for an exact field match, 3 for a field prefix,
+     * 2 for the start of a word inside a field, 1 for a match anywhere, 0 when no term is given.
+     */
+    private static int score(Entry entry, String term) {
+        if (term == null) {
+            return 0;
+        }
+        return Math.max(
+                Math.max(fieldScore(entry.firstName(), term), fieldScore(entry.lastName(), term)),
+                Math.max(fieldScore(entry.fullName(), term), fieldScore(entry.email(), term)));
+    }
+
+    private static int fieldScore(String field, String term) {
+        if (field.equals(term)) {
+            return 4;
+        }
+        if (field.startsWith(term)) {
+            return 3;
+        }
+        int at = field.indexOf(term);
+        while (at > 0) {
+            if (!Character.isLetterOrDigit(field.charAt(at - 1))) {
+                return 2;
+            }
+            at = field.indexOf(term, at + 1);
+        }
+        return field.contains(term) ? 1 : 0;
+    }
+
+    private static void addGrams(String text, Collection<Long> grams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static String fullNameOf(IndexedEmployee employee) {
+        return (lower(employee.getFirstName()) + " " + lower(employee.getLastName())).trim();
+    }
+
+    private static String normalize(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * An indexed employee together with the lower-cased text that searches are matched against.
+     */
+    private record Entry(IndexedEmployee employee, String fullName, String email, String firstName, String lastName) {
+    }
+
+    private record ScoredEntry(Entry entry, int score) {
+    }
+
+    /**
+     * Growable, append-only list of primitive ordinals. Ordinals are appended in increasing order,
+     * so each posting list stays sorted and can be binary searched.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
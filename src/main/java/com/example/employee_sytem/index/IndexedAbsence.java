@@ -0,0 +1,36 @@
+package com.example.employee_sytem.index;
+
+import com.example.employee_sytem.dto.AbsenceDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight, immutable snapshot of an approved leave as held by the {@link LeaveAbsenceIndex}.
+ * <p>
+ * Instances are produced directly by a JPQL constructor expression, so loading the index never
+ * hydrates LeaveRequest or Employee entities.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class IndexedAbsence {
+
+    private final Long id;
+    private final Long employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final Long departmentId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    /**
+     * Converts this snapshot to the AbsenceDto returned by the API.
+     *
+     * @return the corresponding AbsenceDto
+     */
+    public AbsenceDto toAbsenceDto() {
+        return new AbsenceDto(id, employeeId, firstName + " " + lastName, departmentId, startDate, endDate);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.employee_sytem.index;
+
+import com.example.employee_sytem.dto.EmployeeDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lightweight, immutable snapshot of an employee as held by the {@link EmployeeSearchIndex}.
+ * <p>
+ * Instances are produced directly by a JPQL constructor expression, so loading the index never
+ * hydrates Employee entities or their manager chain.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class IndexedEmployee {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final Long departmentId;
+    private final boolean active;
+
+    /**
+     * Converts this snapshot to the EmployeeDto returned by the API.
+     *
+     * @return the corresponding EmployeeDto
+     */
+    public EmployeeDto toEmployeeDto() {
+        return new EmployeeDto(id, firstName, lastName, email, departmentId);
+    }
+}
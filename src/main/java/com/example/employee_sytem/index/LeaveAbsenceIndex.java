@@ -0,0 +1,326 @@
+package com.example.employee_sytem.index;
+
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.event.LeaveRequestChangedEvent;
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory interval index over approved leave, answering "who is absent between these dates".
+ * <p>
+ * Approved leave is held in one interval tree per department: a treap ordered by start date (ties broken
+ * by leave request ID) in which every node also records the latest end date in its subtree. A query for
+ * a date range only descends into subtrees whose latest end date reaches the start of the range and stops
+ * at the first node that starts after its end, so its cost depends on the number of overlapping absences
+ * rather than on the size of the leave history.
+ * </p>
+ * <p>
+ * The index is loaded once the application is ready and is then kept current by
+ * {@link LeaveRequestChangedEvent}s and {@link EmployeeChangedEvent}s, which reload the affected rows
+ * after the writing transaction commits. Employee events cover department reassignments and deletions.
+ * Rows are reloaded while the write lock is held, so refreshes are applied in the order they read the
+ * database and a slower listener can never replace an entry with rows older than those already indexed.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveAbsenceIndex {
+
+    private static final int REFRESH_CHUNK_SIZE = 1000; // IDs reloaded per query on change events
+    private static final Comparator<IndexedAbsence> BY_START = Comparator.comparing(IndexedAbsence::getStartDate)
+            .thenComparing(IndexedAbsence::getId);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedAbsence> absencesById = new HashMap<>();
+    private final Map<Long, Set<Long>> absenceIdsByEmployee = new HashMap<>();
+    private final Map<Long, IntervalTree> treesByDepartment = new HashMap<>(); // The null key holds employees without a department
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the initial load has completed and the index can serve queries.
+     *
+     * @return true once the index reflects the approved leave requests
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads every approved leave into the index once the application has started.
+     * <p>
+     * Rows are streamed from a database cursor as lightweight projections. Change events
+     * that arrive during the load wait on the write lock and are applied afterwards.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            absencesById.clear();
+            absenceIdsByEmployee.clear();
+            treesByDepartment.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<IndexedAbsence> absences = leaveRequestRepository.streamAllAbsences()) {
+                    absences.forEach(this::add);
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Leave absence index loaded {} approved leaves in {} ms",
+                absencesById.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Re-indexes the leave requests named by the event once the writing transaction has committed.
+     * <p>
+     * Requests that are no longer approved are removed from the index.
+     * </p>
+     *
+     * @param event the event naming the leave requests that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(event.getLeaveRequestIds()));
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            lock.writeLock().lock();
+            try {
+                List<IndexedAbsence> rows = leaveRequestRepository.findAbsencesByIdIn(chunk);
+                chunk.forEach(this::remove);
+                rows.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Re-indexes the approved leave of the employees named by the event once the writing transaction
+     * has committed, so absences follow their employee into a new department or disappear with them.
+     *
+     * @param event the event naming the employees that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(event.getEmployeeIds()));
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            lock.writeLock().lock();
+            try {
+                List<IndexedAbsence> rows = leaveRequestRepository.findAbsencesByEmployeeIdIn(chunk);
+                for (Long employeeId : chunk) {
+                    Set<Long> absenceIds = absenceIdsByEmployee.get(employeeId);
+                    if (absenceIds != null) {
+                        new ArrayList<>(absenceIds).forEach(this::remove);
+                    }
+                }
+                rows.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Finds the approved leave that overlaps a date range.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range (inclusive)
+     * @param departmentId the department to filter by (optional)
+     * @return the overlapping absences ordered by start date and leave request ID
+     */
+    public List<IndexedAbsence> findOverlapping(LocalDate from, LocalDate to, Long departmentId) {
+        List<IndexedAbsence> absences = new ArrayList<>();
+        boolean merge = false;
+        lock.readLock().lock();
+        try {
+            if (departmentId != null) {
+                IntervalTree tree = treesByDepartment.get(departmentId);
+                if (tree != null) {
+                    tree.forEachOverlapping(from, to, absences::add);
+                }
+            } else {
+                treesByDepartment.values().forEach(tree -> tree.forEachOverlapping(from, to, absences::add));
+                merge = treesByDepartment.size() > 1;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (merge) {
+            absences.sort(BY_START); // Each tree yields its absences in order; merge the departments
+        }
+        return absences;
+    }
+
+    private void add(IndexedAbsence absence) {
+        absencesById.put(absence.getId(), absence);
+        absenceIdsByEmployee.computeIfAbsent(absence.getEmployeeId(), id -> new HashSet<>()).add(absence.getId());
+        treesByDepartment.computeIfAbsent(absence.getDepartmentId(), id -> new IntervalTree()).insert(absence);
+    }
+
+    private void remove(Long absenceId) {
+        IndexedAbsence absence = absencesById.remove(absenceId);
+        if (absence == null) {
+            return;
+        }
+        Set<Long> employeeAbsences = absenceIdsByEmployee.get(absence.getEmployeeId());
+        employeeAbsences.remove(absenceId);
+        if (employeeAbsences.isEmpty()) {
+            absenceIdsByEmployee.remove(absence.getEmployeeId());
+        }
+        IntervalTree tree = treesByDepartment.get(absence.getDepartmentId());
+        tree.delete(absence);
+        if (tree.root == null) {
+            treesByDepartment.remove(absence.getDepartmentId());
+        }
+    }
+
+    /**
+     * Treap of absences ordered by {@link #BY_START}, with every node augmented by the latest end date
+     * in its subtree. Random priorities keep the expected depth logarithmic under any insertion order.
+     */
+    static final class IntervalTree { // Package-private for LeaveAbsenceIndexTest
+        private Node root;
+
+        void insert(IndexedAbsence absence) {
+            root = insert(root, new Node(absence));
+        }
+
+        void delete(IndexedAbsence absence) {
+            root = delete(root, absence);
+        }
+
+        void forEachOverlapping(LocalDate from, LocalDate to, Consumer<IndexedAbsence> consumer) {
+            collect(root, from, to, consumer);
+        }
+
+        private static void collect(Node node, LocalDate from, LocalDate to, Consumer<IndexedAbsence> consumer) {
+            if (node == null || node.maxEnd.isBefore(from)) {
+                return; // Nothing in this subtree lasts until the start of the range
+            }
+            collect(node.left, from, to, consumer);
+            if (node.absence.getStartDate().isAfter(to)) {
+                return; // This node and everything to its right start after the range
+            }
+            if (!node.absence.getEndDate().isBefore(from)) {
+                consumer.accept(node.absence);
+            }
+            collect(node.right, from, to, consumer);
+        }
+
+        private static Node insert(Node node, Node inserted) {
+            if (node == null) {
+                return inserted;
+            }
+            if (BY_START.compare(inserted.absence, node.absence) < 0) {
+                node.left = insert(node.left, inserted);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, inserted);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node delete(Node node, IndexedAbsence absence) {
+            if (node == null) {
+                return null;
+            }
+            int order = BY_START.compare(absence, node.absence);
+            if (order < 0) {
+                node.left = delete(node.left, absence);
+            } else if (order > 0) {
+                node.right = delete(node.right, absence);
+            } else if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            } else if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, absence);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, absence);
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.update();
+            left.update();
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.update();
+            right.update();
+            return right;
+        }
+    }
+
+    private static final class Node {
+        private final IndexedAbsence absence;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDate maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(IndexedAbsence absence) {
+            this.absence = absence;
+            this.maxEnd = absence.getEndDate();
+        }
+
+        /**
+         * Recomputes the latest end date of this subtree from the node and its children.
+         */
+        private void update() {
+            maxEnd = absence.getEndDate();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.employee_sytem.mapper;
 
 import com.example.employee_sytem.dto.LeaveRequestDTO;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import com.example.employee_sytem.entity.LeaveBalance;
 import com.example.employee_sytem.entity.LeaveRequest;
 import org.springframework.stereotype.Component;
 import com.example.employee_sytem.entity.Employee;
@@ -74,15 +75,33 @@ public class LeaveRequestMapper {
      * @return a LeaveSummaryDTO containing the employee's leave summary
      */
     public LeaveSummaryDTO toLeaveSummaryDTO(Employee employee, int totalLeaveDaysTaken, int remainingLeaveDays) {
-        // Assuming total leave days in a year is 27
-        int totalLeaveDays = 27;
+        return toLeaveSummaryDTO(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                totalLeaveDaysTaken, remainingLeaveDays);
+    }
+
+    /**
+     * Builds a LeaveSummaryDTO from an employee's ID and name, without needing the Employee entity.
+     * <p>
+     * This variant is used by bulk queries that select the employee's name together with the leave totals.
+     * </p>
+     *
+     * @param employeeId the ID of the employee
+     * @param firstName the first name of the employee
+     * @param lastName the last name of the employee
+     * @param totalLeaveDaysTaken the number of leave days the employee has taken
+     * @param remainingLeaveDays the remaining leave days the employee has
+     * @return a LeaveSummaryDTO containing the employee's leave summary
+     */
+    public LeaveSummaryDTO toLeaveSummaryDTO(Long employeeId, String firstName, String lastName,
+                                             int totalLeaveDaysTaken, int remainingLeaveDays) {
+        int totalLeaveDays = LeaveBalance.ANNUAL_ENTITLEMENT_DAYS;
 
         // Generating the employee's full name
-        String fullName = employee.getFirstName() + " " + employee.getLastName();
+        String fullName = firstName + " " + lastName;
 
         // Returning the leave summary DTO
         return new LeaveSummaryDTO(
-                employee.getId(),
+                employeeId,
                 fullName,  // Full name generated by concatenating first and last name
                 totalLeaveDays, // Total leave days allowed per year
                 totalLeaveDaysTaken, // Number of leave days taken
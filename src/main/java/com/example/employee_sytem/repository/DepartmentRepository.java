@@ -2,6 +2,9 @@ package com.example.employee_sytem.repository;
 import org.springframework.stereotype.Repository;
 import com.example.employee_sytem.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 /**
  * Repository interface for managing {@link Department} entities.
  * <p>
@@ -28,7 +31,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
-    // Additional query methods can be defined here if needed
-    }
+    /**
+     * Find the IDs of all departments.
+     * <p>
+     * Departments are few, so bulk operations load this set once to validate department references
+     * without a lookup per row.
+     * </p>
+     *
+     * @return The IDs of all departments.
+     */
+    @Query("SELECT d.id FROM Department d")
+    List<Long> findAllIds();
+}
 
 
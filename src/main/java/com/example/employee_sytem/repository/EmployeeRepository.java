@@ -1,10 +1,22 @@
 package com.example.employee_sytem.repository;
+import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
 import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.index.IndexedEmployee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import com.example.employee_sytem.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 /**
  * Repository interface for managing {@link Employee} entities.
  * <p>
@@ -23,6 +35,8 @@ import java.util.List;
  * </p>
  * <p>
  * Custom query methods are defined using JPQL (Java Persistence Query Language) in this repository.
+ * Read queries select {@link EmployeeDto} projections through constructor expressions, so they neither
+ * hydrate Employee entities nor load the eager manager chain.
  * </p>
  *
 
@@ -30,6 +44,13 @@ import java.util.List;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    /**
+     * JPQL constructor expression selecting the five {@link EmployeeDto} columns.
+     * Queries using it must alias the employee as {@code e} and left join its department as {@code d}.
+     */
+    String EMPLOYEE_DTO_SELECT =
+            "new com.example.employee_sytem.dto.EmployeeDto(e.id, e.firstName, e.lastName, e.email, d.id)";
+
     /**
      * Custom query to search for employees based on name, department, and active status.
      * <p>
@@ -40,17 +61,20 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      *   <li><b>active</b>: Filters employees based on their active status (true or false).</li>
      * </ul>
      * </p>
+     * <p>
+     * The matches are returned as {@link EmployeeDto} projections rather than entities.
+     * </p>
      *
      * @param name The name to search for. Can be a partial match for first or last name. May be null.
      * @param departmentId The ID of the department to filter employees by. Can be null to ignore this filter.
      * @param active The active status to filter by (true or false). Can be null to ignore this filter.
      * @return A list of employees matching the search criteria.
      */
-    @Query("SELECT e FROM Employee e WHERE "
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d WHERE "
             + "(:name IS NULL OR e.firstName LIKE %:name% OR e.lastName LIKE %:name%) AND "
-            + "(:departmentId IS NULL OR e.department.id = :departmentId) AND "
+            + "(:departmentId IS NULL OR d.id = :departmentId) AND "
             + "(:active IS NULL OR e.active = :active)")
-    List<Employee> searchEmployees(
+    List<EmployeeDto> searchEmployees(
             @Param("name") String name,
             @Param("departmentId") Long departmentId,
             @Param("active") Boolean active
@@ -79,6 +103,256 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      */
     List<Employee> findByManager(Employee manager);
 
-}
+    /**
+     * Find a single employee as an {@link EmployeeDto} projection.
+     * <p>
+     * Only the five EmployeeDto columns are selected, so the entity is never hydrated, tracked by the
+     * persistence context, or used to pull in its manager chain.
+     * </p>
+     *
+     * @param id The ID of the employee to find.
+     * @return The employee projection, or empty if no employee has the given ID.
+     */
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d WHERE e.id = :id")
+    Optional<EmployeeDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Find all employees as {@link EmployeeDto} projections, ordered by ID.
+     *
+     * @return A list of all employee projections.
+     */
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d ORDER BY e.id")
+    List<EmployeeDto> findAllDtos();
+
+    /**
+     * Find the given employees as {@link EmployeeDto} projections, ordered by ID.
+     *
+     * @param ids The IDs of the employees to find.
+     * @return The projections of the employees that exist.
+     */
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d "
+            + "WHERE e.id IN :ids ORDER BY e.id")
+    List<EmployeeDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fetch the next page of employees after the given ID (keyset pagination).
+     * <p>
+     * Unlike offset pagination, this query seeks directly to the cursor using the primary key index,
+     * so the cost of a page does not grow with how deep into the table the client has paged.
+     * </p>
+     *
+     * @param after The last ID seen by the client; only employees with a greater ID are returned.
+     * @param pageable The page request carrying the maximum number of rows to return.
+     * @return Up to {@code pageable.getPageSize()} employee projections ordered by ascending ID.
+     */
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d "
+            + "WHERE e.id > :after ORDER BY e.id")
+    List<EmployeeDto> findDtoPageAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Stream all employees as {@link EmployeeDto} projections ordered by ID from a database cursor.
+     * <p>
+     * The fetch size hint makes the PostgreSQL driver pull rows in batches instead of buffering
+     * the whole result set. The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @return A stream of all employee projections ordered by ascending ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT " + EMPLOYEE_DTO_SELECT + " FROM Employee e LEFT JOIN e.department d ORDER BY e.id")
+    Stream<EmployeeDto> streamAllDtos();
+
+    /**
+     * Stream the rows of the employee report ordered by ID from a database cursor.
+     * <p>
+     * Each row joins the employee's department and leave-ledger balance for the year, so the report needs
+     * no further lookups. The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @param allEmployees Whether to select every employee, ignoring {@code employeeIds}.
+     * @param employeeIds The employees to select (must not be empty when {@code allEmployees} is false).
+     * @param year The leave year whose taken days are reported.
+     * @return A stream of report rows ordered by ascending employee ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.employee_sytem.dto.EmployeeReportRowDto("
+            + "e.id, e.firstName, e.lastName, e.email, d.id, d.name, COALESCE(b.takenDays, 0L)) "
+            + "FROM Employee e LEFT JOIN e.department d "
+            + "LEFT JOIN LeaveBalance b ON b.employeeId = e.id AND b.year = :year "
+            + "WHERE :allEmployees = TRUE OR e.id IN :employeeIds "
+            + "ORDER BY e.id")
+    Stream<EmployeeReportRowDto> streamReportRows(@Param("allEmployees") boolean allEmployees,
+                                                  @Param("employeeIds") Collection<Long> employeeIds,
+                                                  @Param("year") int year);
+
+    /**
+     * Stream every employee as an {@link IndexedEmployee} projection for loading the search index.
+     * <p>
+     * The constructor expression selects only the indexed columns, so no entities (or manager chains)
+     * are hydrated. The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @return A stream of index projections for all employees.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.employee_sytem.index.IndexedEmployee("
+            + "e.id, e.firstName, e.lastName, e.email, d.id, e.active) "
+            + "FROM Employee e LEFT JOIN e.department d")
+    Stream<IndexedEmployee> streamAllIndexed();
 
+    /**
+     * Find the {@link IndexedEmployee} projections for the given employee IDs.
+     *
+     * @param ids The IDs of the employees to load.
+     * @return The index projections of the employees that still exist.
+     */
+    @Query("SELECT new com.example.employee_sytem.index.IndexedEmployee("
+            + "e.id, e.firstName, e.lastName, e.email, d.id, e.active) "
+            + "FROM Employee e LEFT JOIN e.department d WHERE e.id IN :ids")
+    List<IndexedEmployee> findIndexedByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Find the whole reporting subtree below a manager with a single recursive CTE.
+     * <p>
+     * The query walks the {@code manager_id} hierarchy level by level inside PostgreSQL, stopping at
+     * {@code maxDepth} levels. The path of visited IDs guards against cycles in bad data.
+     * </p>
+     *
+     * @param managerId The ID of the employee whose reports are to be retrieved.
+     * @param maxDepth The maximum number of levels to descend (1 returns direct reports only).
+     * @return The employees in the subtree, ordered by depth and then by ID.
+     */
+    @Query(value = "WITH RECURSIVE reports AS ("
+            + " SELECT e.id, e.first_name, e.last_name, e.email_id, e.department_id, e.manager_id,"
+            + "        1 AS depth, ARRAY[e.manager_id, e.id] AS path"
+            + " FROM employees e WHERE e.manager_id = :managerId"
+            + " UNION ALL"
+            + " SELECT e.id, e.first_name, e.last_name, e.email_id, e.department_id, e.manager_id,"
+            + "        r.depth + 1, r.path || e.id"
+            + " FROM employees e JOIN reports r ON e.manager_id = r.id"
+            + " WHERE r.depth < :maxDepth AND NOT e.id = ANY(r.path))"
+            + " SELECT id AS \"id\", first_name AS \"firstName\", last_name AS \"lastName\", email_id AS \"email\","
+            + "        department_id AS \"departmentId\", manager_id AS \"managerId\", depth AS \"depth\""
+            + " FROM reports ORDER BY depth, id",
+            nativeQuery = true)
+    List<OrgChartRow> findReportingSubtree(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Find the management chain above an employee with a single recursive CTE.
+     *
+     * @param employeeId The ID of the employee whose managers are to be retrieved.
+     * @return The managers from the direct manager (depth 1) up to the top of the hierarchy.
+     */
+    @Query(value = "WITH RECURSIVE chain AS ("
+            + " SELECT m.id, m.first_name, m.last_name, m.email_id, m.department_id, m.manager_id,"
+            + "        1 AS depth, ARRAY[e.id, m.id] AS path"
+            + " FROM employees e JOIN employees m ON m.id = e.manager_id WHERE e.id = :employeeId"
+            + " UNION ALL"
+            + " SELECT m.id, m.first_name, m.last_name, m.email_id, m.department_id, m.manager_id,"
+            + "        c.depth + 1, c.path || m.id"
+            + " FROM chain c JOIN employees m ON m.id = c.manager_id"
+            + " WHERE NOT m.id = ANY(c.path))"
+            + " SELECT id AS \"id\", first_name AS \"firstName\", last_name AS \"lastName\", email_id AS \"email\","
+            + "        department_id AS \"departmentId\", manager_id AS \"managerId\", depth AS \"depth\""
+            + " FROM chain ORDER BY depth",
+            nativeQuery = true)
+    List<OrgChartRow> findManagementChain(@Param("employeeId") Long employeeId);
+
+    /**
+     * Find which of the given email addresses already belong to an employee.
+     *
+     * @param emails The email addresses to check.
+     * @return The subset of the given email addresses that are already taken.
+     */
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find which of the given employee IDs exist.
+     *
+     * @param ids The employee IDs to check.
+     * @return The subset of the given IDs that belong to an employee.
+     */
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the IDs of all employees.
+     *
+     * @return The IDs of all employees, in ascending order.
+     */
+    @Query("SELECT e.id FROM Employee e ORDER BY e.id")
+    List<Long> findAllIds();
+
+    /**
+     * Find the IDs of all employees in a department.
+     *
+     * @param departmentId The ID of the department.
+     * @return The IDs of the department's employees, in ascending order.
+     */
+    @Query("SELECT e.id FROM Employee e WHERE e.department.id = :departmentId ORDER BY e.id")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId);
+
+    /**
+     * Move the given employees into a department with one set-based UPDATE.
+     * <p>
+     * Employees that already belong to the department are left untouched, so the returned count
+     * only includes employees that actually moved.
+     * </p>
+     *
+     * @param department The department to move the employees into.
+     * @param ids The IDs of the employees to move.
+     * @return The number of employees that were moved.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.department = :department "
+            + "WHERE e.id IN :ids AND (e.department IS NULL OR e.department <> :department)")
+    int updateDepartment(@Param("department") Department department, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Projection of one row returned by the org-chart queries.
+     */
+    interface OrgChartRow {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+        Long getDepartmentId();
+        Long getManagerId();
+        Integer getDepth();
+    }
+
+    /**
+     * Count the employees of every department with one grouped query.
+     *
+     * @return One row per department with its number of employees; employees without a department are
+     *         counted in a row whose department ID is null.
+     */
+    @Query("SELECT d.id AS departmentId, COUNT(e) AS employees FROM Employee e LEFT JOIN e.department d GROUP BY d.id")
+    List<DepartmentHeadcountRow> countByDepartment();
+
+    /**
+     * Projection of one row returned by {@link #countByDepartment()}.
+     */
+    interface DepartmentHeadcountRow {
+        Long getDepartmentId();
+        Long getEmployees();
+    }
+
+    /**
+     * List the department of every employee that belongs to one, in one query.
+     *
+     * @return One row per employee with a department, ordered by employee ID.
+     */
+    @Query("SELECT e.department.id AS departmentId, e.id AS employeeId FROM Employee e "
+            + "WHERE e.department IS NOT NULL ORDER BY e.id")
+    List<DepartmentMemberRow> findDepartmentMembers();
+
+    /**
+     * Projection of one row returned by {@link #findDepartmentMembers()}.
+     */
+    interface DepartmentMemberRow {
+        Long getDepartmentId();
+        Long getEmployeeId();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.entity.LeaveBalanceId;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository fragment that creates and locks a batch of leave-balance ledger rows.
+ */
+public interface LeaveBalanceLockRepository {
+
+    /**
+     * Create the missing balances among the given ones with zero days, then read exactly those balances
+     * and lock their rows until the current transaction ends.
+     * <p>
+     * Each chunk of balances takes one multi-row {@code INSERT ... ON CONFLICT DO NOTHING} and one
+     * {@code SELECT ... FOR UPDATE} over its (employee, year) pairs, so no other employee's balance for
+     * one of the years is locked. The rows are created and locked in key order, so concurrent batches
+     * never deadlock on each other.
+     * </p>
+     *
+     * @param ids The employees and leave years of the balances.
+     * @return The locked {@link LeaveBalance} rows, ordered by employee and year.
+     */
+    List<LeaveBalance> createAndLockAll(Collection<LeaveBalanceId> ids);
+}
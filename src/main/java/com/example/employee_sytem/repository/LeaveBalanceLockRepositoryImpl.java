@@ -0,0 +1,61 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.entity.LeaveBalanceId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Native SQL implementation of {@link LeaveBalanceLockRepository}, picked up by Spring Data through its
+ * {@code Impl} suffix.
+ */
+@RequiredArgsConstructor
+public class LeaveBalanceLockRepositoryImpl implements LeaveBalanceLockRepository {
+
+    private static final int CHUNK_SIZE = 500; // Pairs per statement, two bind parameters each
+    private static final Comparator<LeaveBalanceId> KEY_ORDER = Comparator.comparing(LeaveBalanceId::getEmployeeId)
+            .thenComparing(LeaveBalanceId::getYear);
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LeaveBalance> createAndLockAll(Collection<LeaveBalanceId> ids) {
+        List<LeaveBalanceId> sorted = ids.stream().distinct().sorted(KEY_ORDER).toList();
+        List<LeaveBalance> balances = new ArrayList<>(sorted.size());
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<LeaveBalanceId> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+
+            StringJoiner rows = new StringJoiner(", ");
+            StringJoiner pairs = new StringJoiner(", ");
+            for (int i = 0; i < chunk.size(); i++) {
+                rows.add("(?" + (2 * i + 1) + ", ?" + (2 * i + 2) + ", 0)");
+                pairs.add("(?" + (2 * i + 1) + ", ?" + (2 * i + 2) + ")");
+            }
+            Query insert = entityManager.createNativeQuery("INSERT INTO leave_balances (employee_id, leave_year, taken_days)"
+                    + " VALUES " + rows + " ON CONFLICT (employee_id, leave_year) DO NOTHING");
+            bind(insert, chunk).executeUpdate();
+
+            Query select = entityManager.createNativeQuery("SELECT * FROM leave_balances"
+                    + " WHERE (employee_id, leave_year) IN (" + pairs + ")"
+                    + " ORDER BY employee_id, leave_year FOR UPDATE", LeaveBalance.class);
+            balances.addAll(bind(select, chunk).getResultList());
+        }
+        return balances;
+    }
+
+    private static Query bind(Query query, List<LeaveBalanceId> chunk) {
+        for (int i = 0; i < chunk.size(); i++) {
+            query.setParameter(2 * i + 1, chunk.get(i).getEmployeeId());
+            query.setParameter(2 * i + 2, chunk.get(i).getYear());
+        }
+        return query;
+    }
+}
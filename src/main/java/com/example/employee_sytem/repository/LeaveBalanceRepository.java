@@ -0,0 +1,131 @@
+package com.example.employee_sytem.repository;
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.entity.LeaveBalanceId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing the {@link LeaveBalance} ledger.
+ * <p>
+ * Besides the primary-key reads used for leave summaries, this repository maintains the ledger
+ * incrementally with atomic upserts and row locks. Recomputing the ledger needs the business-day
+ * calendar and is therefore done by the leave request service.
+ * </p>
+ */
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, LeaveBalanceId>, LeaveBalanceLockRepository {
+
+    /**
+     * Add days to (or, with a negative value, remove days from) an employee's balance for a year.
+     * <p>
+     * The ledger row is created if it does not exist yet. The update is a single atomic statement,
+     * so concurrent changes to the same balance are never lost.
+     * </p>
+     *
+     * @param employeeId The ID of the employee.
+     * @param year The leave year.
+     * @param days The number of days to add; negative to remove days.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_year, taken_days) VALUES (:employeeId, :year, :days)"
+            + " ON CONFLICT (employee_id, leave_year)"
+            + " DO UPDATE SET taken_days = leave_balances.taken_days + EXCLUDED.taken_days",
+            nativeQuery = true)
+    void addTakenDays(@Param("employeeId") Long employeeId, @Param("year") int year, @Param("days") long days);
+
+    /**
+     * Create an employee's balance for a year with zero days, unless it already exists.
+     *
+     * @param employeeId The ID of the employee.
+     * @param year The leave year.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_year, taken_days) VALUES (:employeeId, :year, 0)"
+            + " ON CONFLICT (employee_id, leave_year) DO NOTHING",
+            nativeQuery = true)
+    void createIfAbsent(@Param("employeeId") Long employeeId, @Param("year") int year);
+
+    /**
+     * Read an employee's balance for a year and lock its row until the current transaction ends.
+     * <p>
+     * Approvals check the balance through this method, so concurrent approvals for the same employee and
+     * year are serialised and can never both pass the check against the same balance. The row must exist;
+     * see {@link #createIfAbsent(Long, int)}.
+     * </p>
+     *
+     * @param employeeId The ID of the employee.
+     * @param year The leave year.
+     * @return The locked {@link LeaveBalance}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employeeId = :employeeId AND b.year = :year")
+    LeaveBalance findForUpdate(@Param("employeeId") Long employeeId, @Param("year") int year);
+
+    /**
+     * Read the leave days taken in a year by many employees with one query.
+     * <p>
+     * Every requested employee that exists is returned, with zero days if they have no ledger row for
+     * the year. The employee's name is selected alongside the total so a leave summary can be built
+     * without loading the employee separately.
+     * </p>
+     *
+     * @param employeeIds The IDs of the employees whose balances are to be read.
+     * @param year The leave year.
+     * @return One row per existing employee with their name and the leave days taken in the year.
+     */
+    @Query(value = "SELECT e.id AS \"employeeId\", e.first_name AS \"firstName\", e.last_name AS \"lastName\","
+            + " COALESCE(b.taken_days, 0) AS \"takenDays\""
+            + " FROM employees e"
+            + " LEFT JOIN leave_balances b ON b.employee_id = e.id AND b.leave_year = :year"
+            + " WHERE e.id IN (:employeeIds)",
+            nativeQuery = true)
+    List<LeaveTotalRow> findTakenDays(@Param("employeeIds") Collection<Long> employeeIds, @Param("year") int year);
+
+    /**
+     * Block concurrent ledger updates until the current transaction ends.
+     * <p>
+     * Approvals that already changed a balance are waited for, and later ones wait for the rebuild,
+     * so a rebuild never misses or double-counts a concurrent approval.
+     * </p>
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE leave_balances IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Read the unit the ledger's day counts are in, as recorded by the last rebuild.
+     *
+     * @return The calendar fingerprint the ledger was computed with, or null if none was recorded.
+     */
+    @Query(value = "SELECT unit FROM leave_ledger_state WHERE id = 1", nativeQuery = true)
+    String findLedgerUnit();
+
+    /**
+     * Record the unit the ledger's day counts are in.
+     *
+     * @param unit The calendar fingerprint the ledger was computed with.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger_state (id, unit) VALUES (1, :unit)"
+            + " ON CONFLICT (id) DO UPDATE SET unit = EXCLUDED.unit",
+            nativeQuery = true)
+    void saveLedgerUnit(@Param("unit") String unit);
+
+    /**
+     * Projection of one row returned by {@link #findTakenDays(Collection, int)}.
+     */
+    interface LeaveTotalRow {
+        Long getEmployeeId();
+        String getFirstName();
+        String getLastName();
+        Long getTakenDays();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.dto.LeaveRequestDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository fragment that locks a batch of leave request rows without loading their entities.
+ */
+public interface LeaveRequestLockRepository {
+
+    /**
+     * Read many leave requests as {@link LeaveRequestDTO} projections and lock their rows until the current
+     * transaction ends.
+     * <p>
+     * The rows are read with one {@code SELECT ... FOR UPDATE} on {@code leave_requests} alone, so neither
+     * the requesting employees nor their managers are loaded. The rows are locked in ID order, so two
+     * batches that share requests never deadlock.
+     * </p>
+     *
+     * @param ids The IDs of the leave requests.
+     * @return The locked leave requests that exist, ordered by ID.
+     */
+    List<LeaveRequestDTO> lockAllById(Collection<Long> ids);
+}
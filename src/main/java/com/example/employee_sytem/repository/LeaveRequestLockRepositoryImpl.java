@@ -0,0 +1,40 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.dto.LeaveRequestDTO;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Native SQL implementation of {@link LeaveRequestLockRepository}, picked up by Spring Data through its
+ * {@code Impl} suffix.
+ */
+@RequiredArgsConstructor
+public class LeaveRequestLockRepositoryImpl implements LeaveRequestLockRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LeaveRequestDTO> lockAllById(Collection<Long> ids) {
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT id, employee_id, start_date, end_date, reason, status"
+                        + " FROM leave_requests WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("employee_id", Long.class)
+                .addScalar("start_date", LocalDate.class)
+                .addScalar("end_date", LocalDate.class)
+                .addScalar("reason", String.class)
+                .addScalar("status", String.class)
+                .setParameterList("ids", ids)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new LeaveRequestDTO((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalDate) row[3],
+                        (String) row[4], (String) row[5]))
+                .toList();
+    }
+}
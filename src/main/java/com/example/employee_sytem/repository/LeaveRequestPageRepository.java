@@ -0,0 +1,39 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.dto.LeaveRequestDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Custom repository fragment for the keyset-paginated listing of leave requests.
+ * <p>
+ * The query is built from the filters that are actually given, so the database sees neither
+ * {@code :x IS NULL OR ...} conditions nor an OR-based seek and can range-scan the
+ * {@code (start_date, id)} indexes.
+ * </p>
+ */
+public interface LeaveRequestPageRepository {
+
+    /**
+     * Find one page of leave requests matching the given filters using keyset pagination.
+     * <p>
+     * The requests are selected as {@link LeaveRequestDTO} projections with a single query, so neither
+     * the employees nor their manager chains are loaded. Rows are ordered by {@code (start_date, id)} and
+     * the page starts right after the given cursor, compared as one row value, so the cost of a page does
+     * not depend on how deep into the listing the client has paged.
+     * </p>
+     *
+     * @param status The status to filter by, or null for every status.
+     * @param from The first day of the date range; only requests ending on or after it are returned. May be null.
+     * @param to The last day of the date range; only requests starting on or before it are returned. May be null.
+     * @param departmentId The department of the requesting employees, or null for all departments.
+     * @param employeeId The requesting employee, or null for all employees.
+     * @param afterStartDate The start date of the last request seen by the client, or null for the first page.
+     * @param afterId The ID of the last request seen by the client, or null for the first page.
+     * @param limit The maximum number of rows to return.
+     * @return Up to {@code limit} leave request projections ordered by start date and ID.
+     */
+    List<LeaveRequestDTO> findPage(String status, LocalDate from, LocalDate to, Long departmentId, Long employeeId,
+                                   LocalDate afterStartDate, Long afterId, int limit);
+}
@@ -0,0 +1,66 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.dto.LeaveRequestDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of {@link LeaveRequestPageRepository}, picked up by Spring Data through its
+ * {@code Impl} suffix.
+ */
+@RequiredArgsConstructor
+public class LeaveRequestPageRepositoryImpl implements LeaveRequestPageRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<LeaveRequestDTO> findPage(String status, LocalDate from, LocalDate to, Long departmentId,
+                                          Long employeeId, LocalDate afterStartDate, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (status != null) {
+            conditions.add("l.status = :status");
+            parameters.put("status", status);
+        }
+        if (from != null) {
+            conditions.add("l.endDate >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            conditions.add("l.startDate <= :to");
+            parameters.put("to", to);
+        }
+        if (departmentId != null) {
+            conditions.add("e.department.id = :departmentId");
+            parameters.put("departmentId", departmentId);
+        }
+        if (employeeId != null) {
+            conditions.add("e.id = :employeeId");
+            parameters.put("employeeId", employeeId);
+        }
+        if (afterStartDate != null && afterId != null) {
+            conditions.add("(l.startDate, l.id) > (:afterStartDate, :afterId)");
+            parameters.put("afterStartDate", afterStartDate);
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT new com.example.employee_sytem.dto.LeaveRequestDTO("
+                + "l.id, e.id, l.startDate, l.endDate, l.reason, l.status) "
+                + "FROM LeaveRequest l JOIN l.employee e");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY l.startDate, l.id");
+
+        TypedQuery<LeaveRequestDTO> query = entityManager.createQuery(jpql.toString(), LeaveRequestDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,10 +1,24 @@
 package com.example.employee_sytem.repository;
+import com.example.employee_sytem.dto.LeaveRequestDTO;
 import com.example.employee_sytem.entity.Employee;
 import com.example.employee_sytem.entity.LeaveRequest;
+import com.example.employee_sytem.index.IndexedAbsence;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 /**
  * Repository interface for managing {@link LeaveRequest} entities.
  * <p>
@@ -27,7 +41,16 @@ import java.util.List;
  *
  */
 @Repository
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestPageRepository,
+        LeaveRequestLockRepository {
+
+    /**
+     * JPQL select list and joins shared by the {@link IndexedAbsence} projection queries.
+     */
+    String ABSENCE_SELECT = "SELECT new com.example.employee_sytem.index.IndexedAbsence("
+            + "l.id, e.id, e.firstName, e.lastName, d.id, l.startDate, l.endDate) "
+            + "FROM LeaveRequest l JOIN l.employee e LEFT JOIN e.department d "
+            + "WHERE l.status = 'APPROVED'";
 
     /**
      * Find all leave requests for a specific employee.
@@ -66,4 +89,197 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
      * @return The count of {@link LeaveRequest} entities for the given employee with the specified status.
      */
     long countByEmployeeAndStatus(Employee employee, String status);
+
+    /**
+     * Find the ID of the employee who made a leave request, without loading the request.
+     *
+     * @param id The ID of the leave request.
+     * @return The ID of the requesting employee, or empty if the leave request does not exist.
+     */
+    @Query("SELECT l.employee.id FROM LeaveRequest l WHERE l.id = :id")
+    Optional<Long> findEmployeeIdById(@Param("id") Long id);
+
+    /**
+     * Find the employees who requested the given leave requests.
+     *
+     * @param ids The IDs of the leave requests.
+     * @return The distinct IDs of the requesting employees.
+     */
+    @Query("SELECT DISTINCT l.employee.id FROM LeaveRequest l WHERE l.id IN :ids")
+    List<Long> findEmployeeIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find a leave request and lock its row until the current transaction ends.
+     * <p>
+     * Status changes load the request through this method, so two concurrent decisions on the same
+     * request are applied one after the other and each sees the status the other left behind.
+     * </p>
+     *
+     * @param id The ID of the leave request.
+     * @return The locked {@link LeaveRequest}, or empty if it does not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LeaveRequest l WHERE l.id = :id")
+    Optional<LeaveRequest> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Set the status of many leave requests in one statement, without loading them.
+     *
+     * @param status The new status.
+     * @param ids The IDs of the leave requests.
+     * @return The number of leave requests updated.
+     */
+    @Modifying
+    @Query("UPDATE LeaveRequest l SET l.status = :status WHERE l.id IN :ids")
+    int updateStatus(@Param("status") String status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream every leave request as a {@link LeaveRequestDTO} projection from a database cursor.
+     * <p>
+     * The rows come in no particular order, so PostgreSQL can scan the partitions sequentially without
+     * sorting. The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @return A stream of projections for all leave requests.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT new com.example.employee_sytem.dto.LeaveRequestDTO("
+            + "l.id, l.employee.id, l.startDate, l.endDate, l.reason, l.status) FROM LeaveRequest l")
+    Stream<LeaveRequestDTO> streamAllDtos();
+
+    /**
+     * Stream every approved leave as an {@link IndexedAbsence} projection for loading the absence index.
+     * <p>
+     * The stream must be consumed, and closed, inside a transaction.
+     * </p>
+     *
+     * @return A stream of absence projections for all approved leave requests.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(ABSENCE_SELECT)
+    Stream<IndexedAbsence> streamAllAbsences();
+
+    /**
+     * Find the {@link IndexedAbsence} projections of the given leave requests that are approved.
+     *
+     * @param ids The IDs of the leave requests to load.
+     * @return The absence projections of the requests that exist and are approved.
+     */
+    @Query(ABSENCE_SELECT + " AND l.id IN :ids")
+    List<IndexedAbsence> findAbsencesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the {@link IndexedAbsence} projections of every approved leave of the given employees.
+     *
+     * @param employeeIds The IDs of the employees whose approved leave is to be loaded.
+     * @return The absence projections of the employees' approved leave requests.
+     */
+    @Query(ABSENCE_SELECT + " AND e.id IN :employeeIds")
+    List<IndexedAbsence> findAbsencesByEmployeeIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Find the approved leave that overlaps a date range, optionally within one department.
+     * <p>
+     * This query backs absence lookups while the in-memory absence index is still loading.
+     * </p>
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range (inclusive).
+     * @param departmentId The department to filter by, or null for all departments.
+     * @return The overlapping absences ordered by start date and ID.
+     */
+    @Query(ABSENCE_SELECT + " AND l.startDate <= :to AND l.endDate >= :from"
+            + " AND (:departmentId IS NULL OR d.id = :departmentId) ORDER BY l.startDate, l.id")
+    List<IndexedAbsence> findAbsences(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                      @Param("departmentId") Long departmentId);
+
+    /**
+     * Stream the employee, leave year and dates of every approved leave request from a database cursor.
+     * <p>
+     * This feeds the recomputation of the leave-balance ledger. The stream must be consumed, and closed,
+     * inside a transaction.
+     * </p>
+     *
+     * @return A stream of the approved leave requests.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.employee.id AS employeeId, l.leaveYear AS year, l.startDate AS startDate, l.endDate AS endDate "
+            + "FROM LeaveRequest l WHERE l.status = 'APPROVED'")
+    Stream<ApprovedLeaveRow> streamApprovedLeave();
+
+    /**
+     * Projection of one row returned by {@link #streamApprovedLeave()}.
+     */
+    interface ApprovedLeaveRow {
+        Long getEmployeeId();
+        Integer getYear();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+    }
+
+    /**
+     * Roll up the approved leave of one leave year by department and date range with a single query.
+     * <p>
+     * The query is pruned to the year's partition, and requests with the same department, start and end
+     * date collapse into one row with a count, so the result stays small however many requests the year
+     * holds. Departments can be restricted to refresh only some of them; employees without a department
+     * are selected with {@code withoutDepartment}.
+     * </p>
+     *
+     * @param year The leave year.
+     * @param allDepartments Whether to select every department, ignoring the two department filters.
+     * @param departmentIds The departments to select (must not be empty; pass an unused ID to select none).
+     * @param withoutDepartment Whether to select the leave of employees without a department.
+     * @return One row per department and distinct date range with the number of approved requests.
+     */
+    @Query(value = "SELECT e.department_id AS \"departmentId\", l.start_date AS \"startDate\","
+            + " l.end_date AS \"endDate\", COUNT(*) AS \"requests\""
+            + " FROM leave_requests l JOIN employees e ON e.id = l.employee_id"
+            + " WHERE l.leave_year = :year AND l.status = 'APPROVED'"
+            + " AND (:allDepartments OR e.department_id IN (:departmentIds)"
+            + " OR (:withoutDepartment AND e.department_id IS NULL))"
+            + " GROUP BY e.department_id, l.start_date, l.end_date",
+            nativeQuery = true)
+    List<UtilisationRow> rollUpApprovedLeave(@Param("year") int year,
+                                             @Param("allDepartments") boolean allDepartments,
+                                             @Param("departmentIds") Collection<Long> departmentIds,
+                                             @Param("withoutDepartment") boolean withoutDepartment);
+
+    /**
+     * Find the departments and leave years of the given leave requests.
+     *
+     * @param ids The IDs of the leave requests.
+     * @return One row per distinct department and leave year; the department is null for employees without one.
+     */
+    @Query("SELECT DISTINCT e.department.id AS departmentId, l.leaveYear AS year "
+            + "FROM LeaveRequest l JOIN l.employee e WHERE l.id IN :ids")
+    List<DepartmentYearRow> findDepartmentYears(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the leave years in which the given employees have approved leave.
+     *
+     * @param employeeIds The IDs of the employees.
+     * @return The distinct leave years.
+     */
+    @Query("SELECT DISTINCT l.leaveYear FROM LeaveRequest l "
+            + "WHERE l.employee.id IN :employeeIds AND l.status = 'APPROVED'")
+    List<Integer> findApprovedLeaveYears(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Projection of one row returned by {@link #rollUpApprovedLeave(int, boolean, Collection, boolean)}.
+     */
+    interface UtilisationRow {
+        Long getDepartmentId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        Long getRequests();
+    }
+
+    /**
+     * Projection of one row returned by {@link #findDepartmentYears(Collection)}.
+     */
+    interface DepartmentYearRow {
+        Long getDepartmentId();
+        Integer getYear();
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.employee_sytem.service;
+
+import com.example.employee_sytem.dto.LeaveUtilisationDto;
+
+/**
+ * Service interface for the HR analytics of the employee system.
+ * <p>
+ * This interface provides aggregated views over the leave data, such as leave utilisation
+ * by department or by month.
+ * </p>
+ */
+public interface AnalyticsService {
+
+    /**
+     * How a leave utilisation report is grouped.
+     */
+    enum UtilisationGrouping {
+        DEPARTMENT,
+        MONTH
+    }
+
+    /**
+     * Retrieves the leave utilisation of a year.
+     * <p>
+     * Utilisation is the approved leave taken, in working days, divided by the yearly leave entitlement of
+     * the employees covered. Leave counts towards the year in which it starts.
+     * </p>
+     *
+     * @param year the leave year
+     * @param groupBy whether to group the utilisation by department or by month
+     * @return the LeaveUtilisationDto containing one row per department or month
+     */
+    LeaveUtilisationDto getLeaveUtilisation(int year, UtilisationGrouping groupBy);
+}
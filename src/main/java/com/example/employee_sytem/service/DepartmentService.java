@@ -1,6 +1,10 @@
 package com.example.employee_sytem.service;
 import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.DepartmentMembersRequestDto;
+import com.example.employee_sytem.dto.DepartmentReassignmentResultDto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing department operations.
@@ -27,6 +31,14 @@ public interface DepartmentService {
      */
     DepartmentDto getDepartmentById(Long departmentId);
 
+    /**
+     * Retrieves many departments by their IDs with a single query.
+     *
+     * @param departmentIds the IDs of the departments to retrieve
+     * @return the departments keyed by ID; IDs without a department are absent
+     */
+    Map<Long, DepartmentDto> getDepartmentsByIds(Collection<Long> departmentIds);
+
     /**
      * Retrieves all departments.
      *
@@ -61,4 +73,17 @@ public interface DepartmentService {
      */
     DepartmentDto getDepartmentForEmployee(Long employeeId);
 
+    /**
+     * Moves many employees into a department at once.
+     * <p>
+     * The employees are selected by ID or by search filters, and are moved with chunked set-based
+     * updates inside a single transaction.
+     * </p>
+     *
+     * @param departmentId the ID of the department to move the employees into
+     * @param request the employee IDs or search filters selecting the employees
+     * @return the number of employees moved and the requested IDs that do not exist
+     */
+    DepartmentReassignmentResultDto assignEmployees(Long departmentId, DepartmentMembersRequestDto request);
+
 }
@@ -1,6 +1,8 @@
 package com.example.employee_sytem.service;
 import com.example.employee_sytem.dto.EmployeeDto;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 /**
  * Service interface for handling document generation tasks, such as generating PDF reports.
@@ -22,4 +24,34 @@ public interface DocumentService {
      * @throws IOException if an error occurs during PDF generation or file handling
      */
     byte[] generateEmployeeReportPdf(List<EmployeeDto> employees) throws IOException;
+
+    /**
+     * Writes a PDF report for the given employees directly to an output stream.
+     * <p>
+     * Unlike {@link #generateEmployeeReportPdf(List)}, the employees' rows are streamed while the
+     * report is being written and the PDF is never buffered, so memory use stays bounded no matter
+     * how many employees the report contains. The output stream is left open.
+     * </p>
+     *
+     * @param employeeIds the IDs of the employees to include in the report; they are listed in ID order
+     * @param outputStream the stream the PDF document is written to
+     * @throws IOException if an error occurs while writing the PDF
+     */
+    void writeEmployeeReportPdf(List<Long> employeeIds, OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes the employee report in the given format directly to an output stream.
+     * <p>
+     * The report has one row per employee with their department and current-year leave summary. Rows are
+     * read from a database cursor and rendered as they arrive, so memory use stays bounded however many
+     * employees are exported. The output stream is left open.
+     * </p>
+     *
+     * @param format the format of the report, such as {@code pdf}, {@code xlsx}, {@code csv} or {@code json}
+     * @param employeeIds the IDs of the employees to include, or null for all employees
+     * @param outputStream the stream the report is written to
+     * @throws IllegalArgumentException if the format is not supported
+     * @throws IOException if an error occurs while writing the report
+     */
+    void writeEmployeeReport(String format, Collection<Long> employeeIds, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,38 @@
+package com.example.employee_sytem.service;
+import com.example.employee_sytem.dto.BulkImportResultDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for loading many employees at once.
+ * <p>
+ * This interface defines the bulk import used to onboard whole organisations from an uploaded
+ * NDJSON or CSV file without one API call per employee.
+ * </p>
+ */
+public interface EmployeeImportService {
+
+    /**
+     * Supported upload formats.
+     */
+    enum Format {
+        /** One JSON EmployeeDto object per line. */
+        NDJSON,
+        /** A header row followed by one employee per row. */
+        CSV
+    }
+
+    /**
+     * Imports the employees read incrementally from the given stream.
+     * <p>
+     * Rows are parsed as they arrive and inserted in JDBC batches. Rows that fail validation or
+     * insertion (e.g. a duplicate email) are reported individually and do not abort the load.
+     * </p>
+     *
+     * @param input the uploaded NDJSON or CSV content
+     * @param format the format of the upload
+     * @return a BulkImportResultDto with the number of imported rows and the per-row errors
+     * @throws IOException if the upload cannot be read
+     */
+    BulkImportResultDto importEmployees(InputStream input, Format format) throws IOException;
+}
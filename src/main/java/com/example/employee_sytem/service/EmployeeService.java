@@ -1,6 +1,10 @@
 package com.example.employee_sytem.service;
 import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.dto.EmployeePageDto;
+import com.example.employee_sytem.dto.OrgChartNodeDto;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 /**
  * Service interface for managing employee operations.
  * <p>
@@ -35,6 +39,25 @@ public interface EmployeeService {
      */
     List<EmployeeDto> getAllEmployees();
 
+    /**
+     * Retrieves one page of employees using keyset pagination on the employee ID.
+     *
+     * @param after the last employee ID seen by the client, or null to start from the beginning
+     * @param limit the maximum number of employees to return
+     * @return an EmployeePageDto holding the employees and the cursor for the next page
+     */
+    EmployeePageDto getEmployeesPage(Long after, int limit);
+
+    /**
+     * Streams all employees, ordered by ID, to the given consumer as they are read from the database.
+     * <p>
+     * Rows are handed over one at a time, so memory use does not depend on the number of employees.
+     * </p>
+     *
+     * @param consumer the consumer that receives each employee
+     */
+    void streamAllEmployees(Consumer<EmployeeDto> consumer);
+
     /**
      * Updates an existing employee's information.
      *
@@ -60,14 +83,19 @@ public interface EmployeeService {
     void assignEmployeeToDepartment(Long employeeId, Long departmentId);
 
     /**
-     * Searches for employees by name, department, and active status.
+     * Searches for employees by name or email, department, and active status.
+     * <p>
+     * Results are ranked by how closely the name or email matches and are returned one page at a time.
+     * </p>
      *
-     * @param name the name of the employee to search for (can be partial)
+     * @param name the name or email of the employee to search for (can be partial)
      * @param departmentId the department ID to filter employees by (can be null)
      * @param active the active status to filter employees by (can be null)
-     * @return a list of EmployeeDto matching the search criteria
+     * @param page the zero-based page number
+     * @param size the number of employees per page
+     * @return a list of EmployeeDto matching the search criteria, best matches first
      */
-    List<EmployeeDto> searchEmployees(String name, Long departmentId, Boolean active);
+    List<EmployeeDto> searchEmployees(String name, Long departmentId, Boolean active, int page, int size);
 
     /**
      * Retrieves a list of employees by their IDs.
@@ -77,8 +105,50 @@ public interface EmployeeService {
      */
     List<EmployeeDto> getEmployeesByIds(List<Long> employeeIds);
 
+    /**
+     * Filters the given IDs down to those of existing employees.
+     * <p>
+     * This lets a caller validate a large selection up front without loading the employees themselves,
+     * for example before starting to stream a report.
+     * </p>
+     *
+     * @param employeeIds the employee IDs to check
+     * @return the distinct IDs of the existing employees, in ascending order
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if none of the IDs exist
+     */
+    List<Long> getExistingEmployeeIds(Collection<Long> employeeIds);
+
+    /**
+     * Retrieves the IDs of all employees, without loading the employees themselves.
+     *
+     * @return the IDs of all employees, in ascending order
+     */
+    List<Long> getAllEmployeeIds();
 
+    /**
+     * Retrieves the IDs of the employees in a department.
+     *
+     * @param departmentId the ID of the department
+     * @return the IDs of the department's employees, in ascending order
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if the department does not exist
+     */
+    List<Long> getEmployeeIdsByDepartment(Long departmentId);
 
-}
+    /**
+     * Retrieves every employee in the reporting subtree below the given employee.
+     *
+     * @param employeeId the ID of the manager at the root of the subtree
+     * @param depth the maximum number of levels to descend (null for the full subtree)
+     * @return the reports as a flat list ordered by depth, each carrying its manager ID
+     */
+    List<OrgChartNodeDto> getReports(Long employeeId, Integer depth);
 
+    /**
+     * Retrieves the management chain above the given employee.
+     *
+     * @param employeeId the ID of the employee
+     * @return the managers from the direct manager up to the top of the hierarchy
+     */
+    List<OrgChartNodeDto> getManagementChain(Long employeeId);
 
+}
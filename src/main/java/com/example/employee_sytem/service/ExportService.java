@@ -0,0 +1,43 @@
+package com.example.employee_sytem.service;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk exports of the employee system's data.
+ * <p>
+ * Exports are meant for warehouse loads: every row of a table is written to the output as it is read
+ * from the database, so an export of any size runs in constant memory.
+ * </p>
+ */
+public interface ExportService {
+
+    /**
+     * Supported export formats.
+     */
+    enum Format {
+        /** A header row followed by one comma-separated row per record. */
+        CSV,
+        /** One JSON object per line. */
+        NDJSON
+    }
+
+    /**
+     * Writes all employees to an output stream. The CSV columns match those accepted by the bulk import.
+     *
+     * @param format the format to write
+     * @param outputStream the stream the export is written to; it is flushed but left open
+     * @return the number of employees written
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportEmployees(Format format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes all leave requests to an output stream.
+     *
+     * @param format the format to write
+     * @param outputStream the stream the export is written to; it is flushed but left open
+     * @return the number of leave requests written
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportLeaveRequests(Format format, OutputStream outputStream) throws IOException;
+}
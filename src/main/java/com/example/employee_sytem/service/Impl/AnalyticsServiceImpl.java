@@ -0,0 +1,293 @@
+package com.example.employee_sytem.service.Impl;
+import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.LeaveUtilisationDto;
+import com.example.employee_sytem.dto.LeaveUtilisationRowDto;
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.event.DepartmentChangedEvent;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.event.LeaveRequestChangedEvent;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import com.example.employee_sytem.service.AnalyticsService;
+import com.example.employee_sytem.service.DepartmentService;
+import com.example.employee_sytem.service.calendar.BusinessCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the AnalyticsService interface.
+ * <p>
+ * The leave of a year is rolled up with one SQL query that is pruned to the year's leave_requests partition
+ * and collapses requests with the same department and dates into a single counted row. The working days of
+ * each row are then split across the months with the {@link BusinessCalendar}, giving per department a
+ * vector of twelve monthly totals. Both groupings are derived from these vectors.
+ * </p>
+ * <p>
+ * The vectors are cached per year. A year is rolled up by one caller at a time under the year's lock, outside
+ * the cache map, so concurrent requests for an uncached year wait for a single query. When leave decisions
+ * change, only the departments and years of the changed requests are recomputed, with the same query
+ * restricted to those departments; the recomputation also takes the year's lock, so refreshes read the
+ * database one after another and a slower one cannot overwrite newer totals. Employee changes can move
+ * leave between departments, so they drop the years in which those employees have approved leave, and
+ * they reload the headcounts. Department changes only reload the headcounts.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Long NO_DEPARTMENT_ID = -1L; // Placeholder that keeps the department IN list non-empty
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentService departmentService;
+    private final BusinessCalendar businessCalendar;
+
+    private final ConcurrentMap<Integer, YearRollUp> rollUpsByYear = new ConcurrentHashMap<>();
+    private final Object headcountsLock = new Object();
+    private volatile Map<Long, Long> headcounts; // Employees per department; null until loaded
+    private long headcountsVersion; // Advanced on every invalidation; guarded by headcountsLock
+
+    /**
+     * Retrieves the leave utilisation of a year, grouped by department or by month.
+     *
+     * @param year the leave year.
+     * @param groupBy whether to group the utilisation by department or by month.
+     * @return a LeaveUtilisationDto containing one row per department or month.
+     */
+    @Override
+    public LeaveUtilisationDto getLeaveUtilisation(int year, UtilisationGrouping groupBy) {
+        Map<Long, long[]> monthlyDays = rollUpsByYear.computeIfAbsent(year, key -> new YearRollUp()).get(year);
+        Map<Long, Long> employees = getHeadcounts();
+
+        List<LeaveUtilisationRowDto> rows = new ArrayList<>();
+        if (groupBy == UtilisationGrouping.DEPARTMENT) {
+            Set<Long> departmentIds = new HashSet<>(employees.keySet());
+            departmentIds.addAll(monthlyDays.keySet());
+            Map<Long, DepartmentDto> departments = departmentService.getDepartmentsByIds(departmentIds.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            departmentIds.stream()
+                    .sorted(Comparator.nullsLast(Comparator.naturalOrder()))
+                    .forEach(departmentId -> {
+                        DepartmentDto department = departmentId != null ? departments.get(departmentId) : null;
+                        long headcount = employees.getOrDefault(departmentId, 0L);
+                        long[] days = monthlyDays.get(departmentId);
+                        long leaveDays = days == null ? 0 : sum(days);
+                        rows.add(new LeaveUtilisationRowDto(departmentId, department != null ? department.getName() : null,
+                                null, headcount, leaveDays, utilisation(leaveDays, headcount)));
+                    });
+        } else {
+            long headcount = employees.values().stream().mapToLong(Long::longValue).sum();
+            for (int month = 1; month <= 12; month++) {
+                long leaveDays = 0;
+                for (long[] days : monthlyDays.values()) {
+                    leaveDays += days[month - 1];
+                }
+                rows.add(new LeaveUtilisationRowDto(null, null, month, headcount, leaveDays,
+                        utilisation(leaveDays, headcount)));
+            }
+        }
+        return new LeaveUtilisationDto(year, groupBy.name().toLowerCase(Locale.ROOT), rows);
+    }
+
+    /**
+     * Recomputes the cached rollups of the departments and years touched by the changed leave requests
+     * once the writing transaction has committed. Years that are not cached are left alone.
+     *
+     * @param event the event naming the leave requests that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        if (rollUpsByYear.isEmpty()) {
+            return;
+        }
+        Map<Integer, Set<Long>> departmentsByYear = new HashMap<>();
+        for (LeaveRequestRepository.DepartmentYearRow row : leaveRequestRepository.findDepartmentYears(event.getLeaveRequestIds())) {
+            if (rollUpsByYear.containsKey(row.getYear())) {
+                departmentsByYear.computeIfAbsent(row.getYear(), year -> new HashSet<>()).add(row.getDepartmentId());
+            }
+        }
+        departmentsByYear.forEach((year, departmentIds) -> {
+            YearRollUp rollUp = rollUpsByYear.get(year);
+            if (rollUp != null) {
+                rollUp.refresh(year, departmentIds);
+            }
+        });
+    }
+
+    /**
+     * Reloads the headcounts and drops the cached rollups of the years in which the changed employees have
+     * approved leave, since reassignments move that leave between departments. If any of the employees was
+     * deleted, its leave years are no longer known and every cached year is dropped.
+     *
+     * @param event the event naming the employees that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidateHeadcounts();
+        if (rollUpsByYear.isEmpty()) {
+            return;
+        }
+        Set<Long> employeeIds = new HashSet<>(event.getEmployeeIds());
+        if (employeeRepository.findExistingIds(employeeIds).size() < employeeIds.size()) {
+            rollUpsByYear.clear();
+            return;
+        }
+        leaveRequestRepository.findApprovedLeaveYears(employeeIds).forEach(rollUpsByYear::remove);
+    }
+
+    /**
+     * Reloads the headcounts when a department changes. Moving employees out of a deleted department is
+     * published as an employee change of its own.
+     *
+     * @param event the event naming the department that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        invalidateHeadcounts();
+    }
+
+    private void invalidateHeadcounts() {
+        synchronized (headcountsLock) {
+            headcountsVersion++;
+            headcounts = null;
+        }
+    }
+
+    /**
+     * Returns the headcounts, loading them if needed. Headcounts loaded while an invalidation happened are
+     * returned to the caller but not cached, as they may predate the change.
+     */
+    private Map<Long, Long> getHeadcounts() {
+        Map<Long, Long> current = headcounts;
+        if (current != null) {
+            return current;
+        }
+        long version;
+        synchronized (headcountsLock) {
+            version = headcountsVersion;
+        }
+        Map<Long, Long> loaded = new HashMap<>();
+        for (EmployeeRepository.DepartmentHeadcountRow row : employeeRepository.countByDepartment()) {
+            loaded.put(row.getDepartmentId(), row.getEmployees());
+        }
+        synchronized (headcountsLock) {
+            if (headcountsVersion == version) {
+                headcounts = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Rolls up the approved leave of a year into twelve monthly working-day totals per department.
+     * <p>
+     * A request is counted in the months it covers. Leave that runs past the end of the year still counts
+     * towards the year it starts in and is added to December, so the yearly totals match the leave ledger.
+     * </p>
+     *
+     * @param year the leave year.
+     * @param departmentIds the departments to roll up (null for employees without one), or null for all.
+     * @return the monthly totals keyed by department; the key is null for employees without a department.
+     */
+    private Map<Long, long[]> rollUp(int year, Collection<Long> departmentIds) {
+        boolean all = departmentIds == null;
+        List<Long> ids = new ArrayList<>();
+        ids.add(NO_DEPARTMENT_ID);
+        if (!all) {
+            departmentIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        }
+        boolean withoutDepartment = !all && departmentIds.contains(null);
+
+        Map<Long, long[]> monthlyDays = new HashMap<>();
+        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        for (LeaveRequestRepository.UtilisationRow row : leaveRequestRepository.rollUpApprovedLeave(year, all, ids, withoutDepartment)) {
+            long[] days = monthlyDays.computeIfAbsent(row.getDepartmentId(), id -> new long[12]);
+            long requests = row.getRequests();
+            LocalDate start = row.getStartDate();
+            LocalDate end = row.getEndDate();
+            for (int month = start.getMonthValue(); month <= 12; month++) {
+                YearMonth yearMonth = YearMonth.of(year, month);
+                LocalDate monthStart = month == start.getMonthValue() ? start : yearMonth.atDay(1);
+                LocalDate monthEnd = month == 12 ? end : yearMonth.atEndOfMonth();
+                if (monthEnd.isAfter(end)) {
+                    monthEnd = end;
+                }
+                days[month - 1] += requests * businessCalendar.businessDays(monthStart, monthEnd);
+                if (!end.isAfter(monthEnd) || monthEnd.isAfter(yearEnd)) {
+                    break;
+                }
+            }
+        }
+        return monthlyDays;
+    }
+
+    /**
+     * The cached monthly totals of one year, rolled up and refreshed under the year's lock.
+     */
+    private final class YearRollUp {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Map<Long, long[]> monthlyDays; // Null until the year is rolled up
+
+        private Map<Long, long[]> get(int year) {
+            Map<Long, long[]> current = monthlyDays;
+            if (current != null) {
+                return current;
+            }
+            lock.lock();
+            try {
+                if (monthlyDays == null) {
+                    monthlyDays = rollUp(year, null);
+                }
+                return monthlyDays;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refresh(int year, Set<Long> departmentIds) {
+            lock.lock();
+            try {
+                if (monthlyDays == null) {
+                    return; // Not rolled up yet; the first roll-up reads the change
+                }
+                Map<Long, long[]> updated = new HashMap<>(monthlyDays);
+                departmentIds.forEach(updated::remove);
+                updated.putAll(rollUp(year, departmentIds));
+                monthlyDays = updated;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static double utilisation(long leaveDays, long employees) {
+        return employees == 0 ? 0.0 : (double) leaveDays / (employees * LeaveBalance.ANNUAL_ENTITLEMENT_DAYS);
+    }
+}
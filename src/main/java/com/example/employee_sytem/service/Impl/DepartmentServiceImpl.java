@@ -1,14 +1,29 @@
 package com.example.employee_sytem.service.Impl;
 import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.DepartmentMembersRequestDto;
+import com.example.employee_sytem.dto.DepartmentReassignmentResultDto;
+import com.example.employee_sytem.dto.EmployeeDto;
 import com.example.employee_sytem.entity.Department;
-import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.event.DepartmentChangedEvent;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.exception.ResourceNotFoundException;
+import com.example.employee_sytem.index.EmployeeSearchIndex;
 import com.example.employee_sytem.mapper.DepartmentMapper;
 import com.example.employee_sytem.repository.DepartmentRepository;
 import com.example.employee_sytem.repository.EmployeeRepository;
 import com.example.employee_sytem.service.DepartmentService;
+import com.example.employee_sytem.service.cache.LookupCache;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import static com.example.employee_sytem.mapper.DepartmentMapper.mapToDepartmentDto;
 
@@ -21,6 +36,12 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LookupCache<Long, DepartmentDto> departmentLookupCache;
+    private final LookupCache<Long, EmployeeDto> employeeLookupCache;
+
+    private static final int REASSIGNMENT_CHUNK_SIZE = 1000; // Employee IDs per set-based UPDATE
 
     /**
      * Creates a new department.
@@ -48,7 +69,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     /**
-     * Retrieves a department by its ID.
+     * Retrieves a department by its ID through the department lookup cache.
      *
      * @param departmentId the ID of the department to retrieve.
      * @return the DepartmentDto object representing the department.
@@ -56,9 +77,25 @@ public class DepartmentServiceImpl implements DepartmentService {
      */
     @Override
     public DepartmentDto getDepartmentById(Long departmentId) {
-        Department department = departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new RuntimeException("Department not found"));
-        return mapToDepartmentDto(department);
+        DepartmentDto department = departmentLookupCache.get(departmentId,
+                id -> departmentRepository.findById(id).map(DepartmentMapper::mapToDepartmentDto).orElse(null));
+        if (department == null) {
+            throw new RuntimeException("Department not found");
+        }
+        return department;
+    }
+
+    /**
+     * Retrieves many departments by their IDs with a single query.
+     *
+     * @param departmentIds the IDs of the departments to retrieve.
+     * @return the departments keyed by ID; IDs without a department are absent.
+     */
+    @Override
+    public Map<Long, DepartmentDto> getDepartmentsByIds(Collection<Long> departmentIds) {
+        return departmentRepository.findAllById(departmentIds).stream()
+                .map(DepartmentMapper::mapToDepartmentDto)
+                .collect(Collectors.toMap(DepartmentDto::getId, department -> department));
     }
 
     /**
@@ -97,35 +134,107 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         // Save updated department
         Department savedDepartment = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(departmentId));
         return mapToDepartmentDto(savedDepartment);
     }
 
     /**
      * Deletes a department by its ID.
+     * <p>
+     * Deleting a department cascades to its employees, so change events are published
+     * for the department and for every employee it contained.
+     * </p>
      *
      * @param departmentId the ID of the department to be deleted.
      * @throws RuntimeException if the department with the given ID is not found.
      */
     @Override
+    @Transactional
     public void deleteDepartment(Long departmentId) {
+        List<Long> employeeIds = employeeRepository.findIdsByDepartmentId(departmentId);
         departmentRepository.deleteById(departmentId);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(departmentId));
+        if (!employeeIds.isEmpty()) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(employeeIds));
+        }
     }
 
     /**
      * Retrieves the department information for a specific employee.
+     * <p>
+     * Both the employee and the department are read through the lookup caches, so a repeated lookup
+     * does not touch the database.
+     * </p>
      *
      * @param employeeId the ID of the employee whose department information is to be retrieved.
      * @return a DepartmentDto object representing the department of the employee, or null if the employee does not have a department.
      */
     @Override
     public DepartmentDto getDepartmentForEmployee(Long employeeId) {
-        // Fetch employee by ID
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElse(null); // Handle case where employee doesn't exist
-        if (employee != null && employee.getDepartment() != null) {
-            // Map the department entity to DTO
-            return DepartmentMapper.mapToDepartmentDto(employee.getDepartment());
+        // Fetch employee by ID (null if the employee doesn't exist)
+        EmployeeDto employee = employeeLookupCache.get(employeeId, id -> employeeRepository.findDtoById(id).orElse(null));
+        if (employee != null && employee.getDepartmentId() != null) {
+            return departmentLookupCache.get(employee.getDepartmentId(),
+                    id -> departmentRepository.findById(id).map(DepartmentMapper::mapToDepartmentDto).orElse(null));
         }
         return null; // If employee or department is not found, return null
     }
+
+    /**
+     * Moves many employees into a department with chunked set-based updates in one transaction.
+     * <p>
+     * Explicit employee IDs take precedence; otherwise the employees are selected with the same
+     * filters as the employee search. Each chunk of IDs costs one existence query and one UPDATE,
+     * instead of two lookups and a full-entity save per employee.
+     * </p>
+     *
+     * @param departmentId the ID of the department to move the employees into
+     * @param request the employee IDs or search filters selecting the employees
+     * @return the number of employees moved and the requested IDs that do not exist
+     * @throws ResourceNotFoundException if the department with the given ID is not found
+     */
+    @Override
+    @Transactional
+    public DepartmentReassignmentResultDto assignEmployees(Long departmentId, DepartmentMembersRequestDto request) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + departmentId);
+        }
+        Department department = departmentRepository.getReferenceById(departmentId);
+
+        List<Long> employeeIds = new ArrayList<>(new LinkedHashSet<>(resolveEmployeeIds(request)));
+        List<Long> notFound = new ArrayList<>();
+        List<Long> found = new ArrayList<>(employeeIds.size());
+        long moved = 0;
+
+        for (int from = 0; from < employeeIds.size(); from += REASSIGNMENT_CHUNK_SIZE) {
+            List<Long> chunk = employeeIds.subList(from, Math.min(from + REASSIGNMENT_CHUNK_SIZE, employeeIds.size()));
+            Set<Long> existing = new HashSet<>(employeeRepository.findExistingIds(chunk));
+            for (Long id : chunk) {
+                (existing.contains(id) ? found : notFound).add(id);
+            }
+            moved += employeeRepository.updateDepartment(department, existing);
+        }
+
+        if (!found.isEmpty()) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(found));
+        }
+        return new DepartmentReassignmentResultDto(moved, notFound);
+    }
+
+    /**
+     * Resolves the employees selected by a reassignment request, either from its explicit IDs or by
+     * running its filters through the search index (or the search query while the index is loading).
+     */
+    private List<Long> resolveEmployeeIds(DepartmentMembersRequestDto request) {
+        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
+            return request.getEmployeeIds();
+        }
+        if (employeeSearchIndex.isReady()) {
+            return employeeSearchIndex.matchingIds(request.getName(), request.getDepartmentId(), request.getActive());
+        }
+        return employeeRepository.searchEmployees(request.getName(), request.getDepartmentId(), request.getActive())
+                .stream()
+                .map(EmployeeDto::getId)
+                .collect(Collectors.toList());
+    }
 }
@@ -1,40 +1,101 @@
 package com.example.employee_sytem.service.Impl;
-import com.example.employee_sytem.dto.DepartmentDto;
 import com.example.employee_sytem.dto.EmployeeDto;
-import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import com.example.employee_sytem.repository.EmployeeRepository;
 import com.example.employee_sytem.service.DocumentService;
-import com.example.employee_sytem.service.ReportService;
+import com.example.employee_sytem.service.report.PdfReportRenderer;
+import com.example.employee_sytem.service.report.ReportRenderer;
+import com.example.employee_sytem.service.report.ReportRenderers;
+import com.example.employee_sytem.service.report.ReportRowSource;
 import com.itextpdf.io.exceptions.IOException;
-import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.source.ByteArrayOutputStream;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.LineSeparator;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.kernel.utils.PdfMerger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 /**
  * Service implementation for generating PDF reports for employee-related data.
  * This service is responsible for generating employee reports in PDF format,
  * including details such as employee ID, name, department, and leave summary.
+ * <p>
+ * The rows of a report come from the {@link ReportRowSource}, which streams them from one joined query,
+ * and are laid out by the {@link ReportRenderer} of the requested format as they arrive.
+ * </p>
+ * <p>
+ * PDF reports with more than {@value #ROWS_PER_FRAGMENT} employees are split into fragments that are
+ * rendered as separate PDFs on a ForkJoin pool of {@code app.report-rendering.parallelism} threads and
+ * merged in order with PdfMerger as they complete. At most two fragments per thread are in flight, which
+ * keeps memory bounded while every thread stays busy. Each fragment reads its own rows, starts on a new
+ * page and repeats the table header. If the report is abandoned, for example because the client went away,
+ * the fragments still rendering stop at their next row, so they do not keep database connections busy.
+ * </p>
  */
+@Slf4j
 @Service
 public class DocumentServiceImpl implements DocumentService {
 
+    private static final int ROWS_PER_FRAGMENT = 2500; // Employees rendered into one PDF fragment by one thread
+    private static final int FRAGMENTS_IN_FLIGHT_PER_THREAD = 2; // Rendered fragments allowed to wait for the merge
+
+    @Autowired
+    private ReportRowSource reportRowSource;  // Streams the joined rows of the report
+
+    @Autowired
+    private ReportRenderers reportRenderers;
+
+    @Autowired
+    private EmployeeRepository employeeRepository; // Resolves the employees of full-org PDF reports
+
     @Autowired
-    private ReportService reportService;  // ReportService that handles fetching the data
+    private PdfReportRenderer pdfReportRenderer;
+
+    @Value("${app.report-rendering.parallelism:0}")
+    private int parallelism; // Threads rendering PDF fragments; 0 means one per available processor
+
+    private ForkJoinPool renderPool;
+
+    /**
+     * Creates the pool that renders the fragments of large PDF reports.
+     */
+    @PostConstruct
+    public void startRenderPool() {
+        renderPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Stops the fragment rendering threads when the application shuts down.
+     */
+    @PreDestroy
+    public void stopRenderPool() {
+        renderPool.shutdownNow();
+    }
 
     /**
      * Generates a PDF report for the given list of employees.
      * The PDF includes a table of employee details such as ID, name, department, and leave summary.
+     * <p>
+     * The rows are read by the IDs of the given employees, so the report shows their current data, in ID
+     * order, and leaves out employees that no longer exist.
+     * </p>
      *
      * @param employees a list of EmployeeDto objects containing employee details to be included in the report.
      * @return a byte array representing the generated PDF report.
@@ -47,93 +108,152 @@ public class DocumentServiceImpl implements DocumentService {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
         try {
-            // Initialize PdfWriter and PdfDocument
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDocument = new PdfDocument(writer);
-
-            // Create Document instance for adding content
-            Document document = new Document(pdfDocument);
-
-            // Add a title with styling
-            PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD); // Correct font loading
-            document.add(new Paragraph("Employee Report")
-                    .setFont(font)  // Set the bold font
-                    .setFontSize(18)
-                    .setTextAlignment(TextAlignment.CENTER));
-
-            // Add a line separator with 1-point width
-            document.add(new LineSeparator(new SolidLine(1f)));
-            document.add(new Paragraph(" ")); // Add some spacing after the line separator
-
-            // Create a table with 6 columns
-            // Define column widths in relative proportions (use float[] to set specific column widths)
-            Table table = new Table(new float[]{2, 3, 3, 2, 3, 4});
-            table.setWidth(100);  // Set the width of the table to 100% of the available space
-
-            // Add table headers with styling
-            table.addCell(new Cell().add(new Paragraph("Employee ID"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-            table.addCell(new Cell().add(new Paragraph("Employee Name"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-            table.addCell(new Cell().add(new Paragraph("Email"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-            table.addCell(new Cell().add(new Paragraph("Department ID"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-            table.addCell(new Cell().add(new Paragraph("Department Name"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-            table.addCell(new Cell().add(new Paragraph("Leave Summary"))
-                    .setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5));
-
-            // Populate the table with employee data
-            for (EmployeeDto employee : employees) {
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(employee.getId())))
-                        .setTextAlignment(TextAlignment.CENTER).setPadding(5));
-                table.addCell(new Cell().add(new Paragraph(employee.getFirstName() + " " + employee.getLastName()))
-                        .setTextAlignment(TextAlignment.LEFT).setPadding(5));
-                table.addCell(new Cell().add(new Paragraph(employee.getEmail()))
-                        .setTextAlignment(TextAlignment.LEFT).setPadding(5));
-                table.addCell(new Cell().add(new Paragraph(String.valueOf(employee.getDepartmentId())))
-                        .setTextAlignment(TextAlignment.CENTER).setPadding(5));
-
-                // Get department details
-                DepartmentDto department = reportService.getDepartmentDetails(employee.getDepartmentId());
-                table.addCell(department != null ? new Cell().add(new Paragraph(department.getName()))
-                        .setTextAlignment(TextAlignment.LEFT).setPadding(5) :
-                        new Cell().add(new Paragraph("No Department"))
-                                .setTextAlignment(TextAlignment.LEFT).setPadding(5));
-
-                // Get leave summary
-                LeaveSummaryDTO leaveSummary = reportService.getLeaveSummary(employee.getId());
-                if (leaveSummary != null) {
-                    String leaveSummaryText = "Total Leave: " + leaveSummary.getTotalLeaveDays() +
-                            ", Taken: " + leaveSummary.getTakenLeaves() +
-                            ", Remaining: " + leaveSummary.getRemainingLeaves();
-                    table.addCell(new Cell().add(new Paragraph(leaveSummaryText))
-                            .setTextAlignment(TextAlignment.LEFT).setPadding(5));
-                } else {
-                    table.addCell(new Cell().add(new Paragraph("No Leave Summary"))
-                            .setTextAlignment(TextAlignment.LEFT).setPadding(5));
-                }
-            }
+            writeEmployeeReportPdf(employees.stream().map(EmployeeDto::getId).collect(Collectors.toList()), baos);
+        } catch (IOException | java.io.IOException e) {
+            log.error("Could not generate the PDF report over {} employees", employees.size(), e);
+            throw new RuntimeException("Error generating the PDF report", e);
+        }
+
+        return baos.toByteArray();
 
-            // Add the table to the document
-            document.add(table);
+    }
+
+    /**
+     * Writes a PDF report for the given employees straight to the output stream.
+     * <p>
+     * Rows are streamed from the database while the report is written, so neither the employees nor the
+     * finished PDF are ever held in memory as a whole. Large reports are rendered in parallel fragments,
+     * each reading its own rows. Employees deleted after the report was requested are left out. The
+     * output stream is not closed.
+     * </p>
+     *
+     * @param employeeIds the IDs of the employees to include; the report lists them in ID order.
+     * @param outputStream the stream the PDF is written to.
+     * @throws java.io.IOException if writing to the output stream fails.
+     */
+    @Override
+    public void writeEmployeeReportPdf(List<Long> employeeIds, OutputStream outputStream) throws java.io.IOException {
+        List<Long> sortedIds = new ArrayList<>(new TreeSet<>(employeeIds)); // Fragments split the ID order
+        List<List<Long>> fragments = partition(sortedIds, ROWS_PER_FRAGMENT);
+        if (fragments.size() > 1) {
+            writeFragments(outputStream, fragments);
+        } else {
+            pdfReportRenderer.render(rowsOf(sortedIds), outputStream);
+        }
+    }
 
-            // Add some space after the table
-            document.add(new Paragraph(" "));
+    /**
+     * Writes the employee report in the given format straight to the output stream.
+     * <p>
+     * PDF reports are rendered in parallel fragments as in {@link #writeEmployeeReportPdf(List, OutputStream)};
+     * for the full-org report, the IDs of all employees are read first so it can be split as well. Every other
+     * report streams its rows through the format's renderer. The output stream is not closed.
+     * </p>
+     *
+     * @param format the format of the report, as listed by {@link ReportRenderers#formats()}.
+     * @param employeeIds the IDs of the employees to include, or null for all employees.
+     * @param outputStream the stream the report is written to.
+     * @throws IllegalArgumentException if the format is not supported.
+     * @throws java.io.IOException if writing to the output stream fails.
+     */
+    @Override
+    public void writeEmployeeReport(String format, Collection<Long> employeeIds, OutputStream outputStream)
+            throws java.io.IOException {
+        ReportRenderer renderer = reportRenderers.find(format)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported report format: " + format));
+        if (renderer == pdfReportRenderer) {
+            writeEmployeeReportPdf(employeeIds != null ? new ArrayList<>(employeeIds) : employeeRepository.findAllIds(),
+                    outputStream);
+        } else {
+            renderer.render(rowsOf(employeeIds), outputStream);
+        }
+    }
 
-            // Optional: Add a footer or any other information
+    /**
+     * Renders the fragments of a report in parallel and merges them, in order, into one PDF.
+     * <p>
+     * Fragments are submitted to the render pool ahead of the merge, but only as many as
+     * {@value #FRAGMENTS_IN_FLIGHT_PER_THREAD} per thread, so rendered fragments waiting to be merged
+     * never pile up. Merged pages are flushed to the output stream straight away.
+     * </p>
+     *
+     * @param outputStream the stream the merged PDF is written to; it is left open.
+     * @param fragments the employee IDs of each fragment, in report order; rows are read when it is rendered.
+     */
+    private void writeFragments(OutputStream outputStream, List<List<Long>> fragments) throws java.io.IOException {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false); // The caller owns the stream
+        PdfDocument merged = new PdfDocument(writer);
+        PdfMerger merger = new PdfMerger(merged, false, false); // Fragments have neither tags nor outlines
 
-            // Close the document to finish the PDF
-            document.close();
+        int maxInFlight = renderPool.getParallelism() * FRAGMENTS_IN_FLIGHT_PER_THREAD;
+        Deque<ForkJoinTask<byte[]>> inFlight = new ArrayDeque<>();
+        AtomicBoolean abandoned = new AtomicBoolean(); // ForkJoinTask.cancel does not interrupt running fragments
+        int next = 0;
+        try {
+            while (next < fragments.size() || !inFlight.isEmpty()) {
+                while (next < fragments.size() && inFlight.size() < maxInFlight) {
+                    List<Long> fragment = fragments.get(next);
+                    boolean first = next++ == 0;
+                    inFlight.add(renderPool.submit(() -> renderFragment(fragment, first, abandoned)));
+                }
+                byte[] fragmentPdf = inFlight.poll().join();
+                try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(fragmentPdf)))) {
+                    merger.merge(source, 1, source.getNumberOfPages());
+                    merged.flushCopiedObjects(source); // Write the copied pages out instead of keeping them
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!inFlight.isEmpty()) { // Only left over if a fragment, the merge or the client's stream failed
+                abandoned.set(true); // Running fragments stop at their next row and give their connection back
+                inFlight.forEach(task -> task.cancel(false));
+            }
+        }
+        merged.close();
+    }
 
-        } catch (IOException | java.io.IOException e) {
-            e.printStackTrace(); // Log the exception or handle it appropriately
-            // Optionally, rethrow as a runtime exception if you don't want to propagate IOException
-            throw new RuntimeException("Error generating the PDF report", e);
+    /**
+     * Renders one fragment of a report into a standalone PDF; only the first fragment carries the title.
+     * The rendering stops with a CancellationException at the next row once the report is abandoned.
+     */
+    private byte[] renderFragment(List<Long> employeeIds, boolean withTitle, AtomicBoolean abandoned) {
+        ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+        ReportRenderer.Rows rows = rowsOf(employeeIds);
+        try {
+            pdfReportRenderer.renderFragment(consumer -> {
+                if (abandoned.get()) {
+                    throw new CancellationException(); // Before the fragment opens its database cursor
+                }
+                rows.forEach(row -> {
+                    if (abandoned.get()) {
+                        throw new CancellationException();
+                    }
+                    consumer.accept(row);
+                });
+            }, fragment, withTitle);
+        } catch (java.io.IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return fragment.toByteArray();
+    }
 
-        return baos.toByteArray();
+    /**
+     * Returns the rows of the given employees, read from the row source when a renderer asks for them.
+     */
+    private ReportRenderer.Rows rowsOf(Collection<Long> employeeIds) {
+        return consumer -> reportRowSource.forEachRow(employeeIds, consumer);
+    }
 
+    /**
+     * Splits the list into consecutive chunks of at most {@code size} elements.
+     */
+    private static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return chunks;
     }
 }
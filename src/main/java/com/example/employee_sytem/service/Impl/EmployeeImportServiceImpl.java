@@ -0,0 +1,295 @@
+package com.example.employee_sytem.service.Impl;
+import com.example.employee_sytem.dto.BulkImportErrorDto;
+import com.example.employee_sytem.dto.BulkImportResultDto;
+import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.entity.Department;
+import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.repository.DepartmentRepository;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.service.EmployeeImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the EmployeeImportService interface.
+ * <p>
+ * The upload is read line by line, so only the current chunk of rows is held in memory. Each chunk is
+ * validated against the known departments and existing emails with one query, then persisted in a single
+ * transaction whose JDBC batch size matches the chunk size. Because employee IDs come from a pooled
+ * sequence, Hibernate can group the inserts into JDBC batches. If a chunk still fails (for example because
+ * a concurrent request inserted the same email), its rows are retried one by one so that only the
+ * offending rows are reported.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.bulk-import.batch-size:500}")
+    private int batchSize; // Rows per chunk, and per JDBC batch
+
+    /**
+     * Imports the employees read incrementally from the given stream.
+     *
+     * @param input the uploaded NDJSON or CSV content
+     * @param format the format of the upload
+     * @return a BulkImportResultDto with the number of imported rows and the per-row errors
+     * @throws IOException if the upload cannot be read
+     */
+    @Override
+    public BulkImportResultDto importEmployees(InputStream input, Format format) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ImportRun run = new ImportRun(new HashSet<>(departmentRepository.findAllIds()));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        Map<String, Integer> csvColumns = null;
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            rowNumber++;
+            EmployeeDto employee;
+            try {
+                employee = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+            } catch (JsonProcessingException e) {
+                run.reject(rowNumber, null, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                run.reject(rowNumber, null, "Malformed row: " + e.getMessage());
+                continue;
+            }
+            run.accept(rowNumber, employee);
+
+            if (run.chunk.size() == batchSize) {
+                insertChunk(run);
+            }
+        }
+        insertChunk(run);
+
+        log.info("Bulk import read {} rows, imported {}, rejected {} in {} ms",
+                rowNumber, run.imported, run.errors.size(), System.currentTimeMillis() - startedAt);
+        return new BulkImportResultDto(rowNumber, run.imported, run.errors);
+    }
+
+    /**
+     * Inserts the pending chunk, rejecting rows whose email already exists in the database.
+     */
+    private void insertChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<PendingRow> pending = new ArrayList<>(run.chunk);
+        run.chunk.clear();
+
+        Set<String> existingEmails = new HashSet<>(employeeRepository.findExistingEmails(
+                pending.stream().map(row -> row.employee().getEmail()).toList()));
+        List<PendingRow> insertable = new ArrayList<>(pending.size());
+        for (PendingRow row : pending) {
+            if (existingEmails.contains(row.employee().getEmail())) {
+                run.reject(row.rowNumber(), row.employee().getEmail(), "Email already exists");
+            } else {
+                insertable.add(row);
+            }
+        }
+
+        List<Long> insertedIds;
+        try {
+            insertedIds = persist(insertable);
+        } catch (RuntimeException e) {
+            // Persistence and commit failures surface as different exception types; any of them means
+            // the chunk was rolled back, so retry row by row to isolate the offending rows.
+            insertedIds = new ArrayList<>();
+            for (PendingRow row : insertable) {
+                try {
+                    insertedIds.addAll(persist(List.of(row)));
+                } catch (RuntimeException rowFailure) {
+                    run.reject(row.rowNumber(), row.employee().getEmail(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+
+        run.imported += insertedIds.size();
+        if (!insertedIds.isEmpty()) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(insertedIds));
+        }
+    }
+
+    /**
+     * Persists the rows in one transaction, flushing them as JDBC batches of {@code batchSize}.
+     *
+     * @return the generated IDs of the inserted employees
+     */
+    private List<Long> persist(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<Employee> employees = new ArrayList<>(rows.size());
+            for (PendingRow row : rows) {
+                EmployeeDto dto = row.employee();
+                Employee employee = new Employee(null, dto.getFirstName(), dto.getLastName(), dto.getEmail());
+                if (dto.getDepartmentId() != null) {
+                    employee.setDepartment(entityManager.getReference(Department.class, dto.getDepartmentId()));
+                }
+                entityManager.persist(employee);
+                employees.add(employee);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return employees.stream().map(Employee::getId).toList();
+        });
+    }
+
+    private EmployeeDto parseJsonRow(String line) throws JsonProcessingException {
+        return objectMapper.readValue(line, EmployeeDto.class);
+    }
+
+    /**
+     * Maps the CSV header to column positions. Column names are matched case-insensitively and
+     * with or without underscores, so both {@code firstName} and {@code first_name} are accepted.
+     */
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            columns.put(name.equals("emailid") ? "email" : name, i);
+        }
+        return columns;
+    }
+
+    private static EmployeeDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        String departmentId = csvValue(values, columns, "departmentid");
+        try {
+            return new EmployeeDto(
+                    null,
+                    csvValue(values, columns, "firstname"),
+                    csvValue(values, columns, "lastname"),
+                    csvValue(values, columns, "email"),
+                    departmentId == null ? null : Long.valueOf(departmentId));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("departmentId is not a number: " + departmentId);
+        }
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line into fields, honouring double-quoted fields and {@code ""} escapes.
+     * Quoted fields spanning several lines are not supported.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record PendingRow(long rowNumber, EmployeeDto employee) {
+    }
+
+    /**
+     * Mutable state of one import: the known departments, the emails seen so far in the upload,
+     * the chunk waiting to be inserted, and the running totals.
+     */
+    private static final class ImportRun {
+        private final Set<Long> departmentIds;
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<PendingRow> chunk = new ArrayList<>();
+        private final List<BulkImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+
+        private ImportRun(Set<Long> departmentIds) {
+            this.departmentIds = departmentIds;
+        }
+
+        private void accept(long rowNumber, EmployeeDto employee) {
+            String email = employee.getEmail() == null ? null : employee.getEmail().trim();
+            employee.setEmail(email);
+            if (email == null || email.isEmpty()) {
+                reject(rowNumber, null, "Email is required");
+            } else if (employee.getDepartmentId() != null && !departmentIds.contains(employee.getDepartmentId())) {
+                reject(rowNumber, email, "Department not found with ID: " + employee.getDepartmentId());
+            } else if (!seenEmails.add(email)) {
+                reject(rowNumber, email, "Duplicate email in upload");
+            } else {
+                chunk.add(new PendingRow(rowNumber, employee));
+            }
+        }
+
+        private void reject(long rowNumber, String email, String message) {
+            errors.add(new BulkImportErrorDto(rowNumber, email, message));
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package com.example.employee_sytem.service.Impl;
 import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.dto.EmployeePageDto;
+import com.example.employee_sytem.dto.OrgChartNodeDto;
 import com.example.employee_sytem.entity.Department;
 import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
 import com.example.employee_sytem.exception.ResourceNotFoundException;
+import com.example.employee_sytem.index.EmployeeSearchIndex;
+import com.example.employee_sytem.index.IndexedEmployee;
 import com.example.employee_sytem.mapper.EmployeeMapper;
 import com.example.employee_sytem.repository.DepartmentRepository;
 import com.example.employee_sytem.repository.EmployeeRepository;
 import com.example.employee_sytem.service.EmployeeService;
+import com.example.employee_sytem.service.cache.LookupCache;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -30,6 +45,14 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Autowired
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LookupCache<Long, EmployeeDto> employeeLookupCache;
+
+    private static final int MAX_PAGE_SIZE = 1000; // Upper bound for a single keyset page
+    private static final int MAX_SEARCH_PAGE_SIZE = 200; // Upper bound for a single search page
+    private static final int MAX_ORG_DEPTH = 100; // Deepest reporting level walked by the org-chart queries
+    private static final int ID_CHECK_CHUNK_SIZE = 1000; // Employee IDs per existence-check query
 
     /**
      * Creates a new employee.
@@ -46,6 +69,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public EmployeeDto createEmployee(EmployeeDto employeeDto) {
         Employee employee = EmployeeMapper.mapToEmployee(employeeDto);
         Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(savedEmployee.getId()));
 
         return EmployeeMapper.mapToEmployeeDto(savedEmployee);
     }
@@ -53,9 +77,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     /**
      * Retrieves an employee by their ID.
      * <p>
-     * This method fetches an employee from the database by their ID and
-     * maps it to an EmployeeDto. If no employee is found, it throws a
-     * ResourceNotFoundException.
+     * This method reads the employee through the employee lookup cache, which
+     * loads an EmployeeDto projection from the database on a miss. If no employee
+     * is found, it throws a ResourceNotFoundException.
      * </p>
      *
      * @param employeeId the ID of the employee to retrieve
@@ -64,27 +88,65 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public EmployeeDto getEmployeeById(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
-        return EmployeeMapper.mapToEmployeeDto(employee);
+        EmployeeDto employee = employeeLookupCache.get(employeeId, id -> employeeRepository.findDtoById(id).orElse(null));
+        if (employee == null) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
+        return employee;
     }
 
     /**
      * Retrieves all employees.
      * <p>
-     * This method fetches all employee records from the database and returns
-     * them as a list of EmployeeDto objects.
+     * This method fetches all employee records from the database as
+     * EmployeeDto projections, ordered by ID.
      * </p>
      *
      * @return a list of EmployeeDto representing all employees
      */
     @Override
     public List<EmployeeDto> getAllEmployees() {
-        List<Employee> employees = employeeRepository.findAll();
+        return employeeRepository.findAllDtos();
+    }
 
-        return employees.stream()
-                .map(EmployeeMapper::mapToEmployeeDto)
-                .collect(Collectors.toList());
+    /**
+     * Retrieves one page of employees after the given cursor.
+     * <p>
+     * This method seeks past the last ID the client has seen instead of using an offset,
+     * so every page costs the same regardless of its position. The returned cursor is the
+     * last ID on the page, or null once the final page has been reached.
+     * </p>
+     *
+     * @param after the last employee ID seen by the client, or null to start from the beginning
+     * @param limit the maximum number of employees to return (clamped to 1..1000)
+     * @return an EmployeePageDto holding the employees and the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePageDto getEmployeesPage(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<EmployeeDto> employees = employeeRepository
+                .findDtoPageAfter(after != null ? after : 0L, PageRequest.of(0, pageSize));
+
+        Long nextCursor = employees.size() == pageSize ? employees.get(employees.size() - 1).getId() : null;
+        return new EmployeePageDto(employees, nextCursor);
+    }
+
+    /**
+     * Streams all employees to the given consumer from a database cursor.
+     * <p>
+     * Rows are read as EmployeeDto projections, which the persistence context does not track,
+     * so the session does not accumulate the employees read during the stream.
+     * </p>
+     *
+     * @param consumer the consumer that receives each employee
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeDto> consumer) {
+        try (Stream<EmployeeDto> employees = employeeRepository.streamAllDtos()) {
+            employees.forEach(consumer);
+        }
     }
 
     /**
@@ -110,6 +172,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setEmail(updatedEmployee.getEmail());
 
         Employee updatedEmployeeObj = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(employeeId));
         return EmployeeMapper.mapToEmployeeDto(updatedEmployeeObj);
     }
 
@@ -125,9 +188,11 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public void deleteEmployee(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
         employeeRepository.deleteById(employeeId);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(employeeId));
     }
 
     /**
@@ -151,25 +216,40 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         employee.setDepartment(department);
         employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.of(employeeId));
     }
 
     /**
      * Searches for employees based on various criteria such as name, department, and active status.
      * <p>
-     * This method allows searching employees by their name, department, and active status.
-     * It returns a list of EmployeeDto objects matching the criteria.
+     * The search is answered by the in-memory {@link EmployeeSearchIndex}, which matches the name
+     * against first name, last name and email through trigram posting lists and ranks the results.
+     * Until the index has finished loading at startup, the database query is used instead.
      * </p>
      *
-     * @param name        the name to search for (can be partial)
+     * @param name        the name or email to search for (can be partial)
      * @param departmentId the ID of the department to filter by
      * @param active      the active status to filter by (true for active, false for inactive)
-     * @return a list of EmployeeDto matching the search criteria
+     * @param page        the zero-based page number
+     * @param size        the number of employees per page (clamped to 1..200)
+     * @return a list of EmployeeDto matching the search criteria, best matches first
      */
     @Override
-    public List<EmployeeDto> searchEmployees(String name, Long departmentId, Boolean active) {
-        List<Employee> employees = employeeRepository.searchEmployees(name, departmentId, active);
+    public List<EmployeeDto> searchEmployees(String name, Long departmentId, Boolean active, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+
+        if (employeeSearchIndex.isReady()) {
+            return employeeSearchIndex.search(name, departmentId, active, pageNumber, pageSize).stream()
+                    .map(IndexedEmployee::toEmployeeDto)
+                    .collect(Collectors.toList());
+        }
+
+        List<EmployeeDto> employees = employeeRepository.searchEmployees(name, departmentId, active);
         return employees.stream()
-                .map(EmployeeMapper::mapToEmployeeDto)
+                .sorted(Comparator.comparing(EmployeeDto::getId))
+                .skip((long) pageNumber * pageSize)
+                .limit(pageSize)
                 .collect(Collectors.toList());
     }
 
@@ -187,12 +267,102 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public List<EmployeeDto> getEmployeesByIds(List<Long> employeeIds) {
-        List<Employee> employees = employeeRepository.findAllById(employeeIds);
+        List<EmployeeDto> employees = employeeRepository.findDtosByIdIn(employeeIds);
         if (employees.isEmpty()) {
             throw new ResourceNotFoundException("No employees found for the provided IDs.");
         }
-        return employees.stream()
-                .map(EmployeeMapper::mapToEmployeeDto)
+        return employees;
+    }
+
+    /**
+     * Filters the given IDs down to those of existing employees, checking 1000 IDs per query.
+     *
+     * @param employeeIds the employee IDs to check
+     * @return the distinct IDs of the existing employees, in ascending order
+     * @throws ResourceNotFoundException if none of the IDs exist
+     */
+    @Override
+    public List<Long> getExistingEmployeeIds(Collection<Long> employeeIds) {
+        List<Long> ids = new ArrayList<>(new TreeSet<>(employeeIds));
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_CHECK_CHUNK_SIZE) {
+            existing.addAll(employeeRepository.findExistingIds(
+                    ids.subList(from, Math.min(from + ID_CHECK_CHUNK_SIZE, ids.size()))));
+        }
+        if (existing.isEmpty()) {
+            throw new ResourceNotFoundException("No employees found for the provided IDs.");
+        }
+        existing.sort(null);
+        return existing;
+    }
+
+    /**
+     * Retrieves the IDs of all employees.
+     *
+     * @return the IDs of all employees, in ascending order
+     */
+    @Override
+    public List<Long> getAllEmployeeIds() {
+        return employeeRepository.findAllIds();
+    }
+
+    /**
+     * Retrieves the IDs of the employees in a department.
+     *
+     * @param departmentId the ID of the department
+     * @return the IDs of the department's employees, in ascending order
+     * @throws ResourceNotFoundException if the department does not exist
+     */
+    @Override
+    public List<Long> getEmployeeIdsByDepartment(Long departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + departmentId);
+        }
+        return employeeRepository.findIdsByDepartmentId(departmentId);
+    }
+
+    /**
+     * Retrieves the reporting subtree below an employee.
+     * <p>
+     * The whole subtree is resolved by one recursive query in the database, so a large organisation
+     * comes back in a single round trip instead of one query per manager.
+     * </p>
+     *
+     * @param employeeId the ID of the manager at the root of the subtree
+     * @param depth the maximum number of levels to descend (null or larger than 100 means 100)
+     * @return the reports as a flat list ordered by depth
+     * @throws ResourceNotFoundException if no employee exists with the given ID
+     */
+    @Override
+    public List<OrgChartNodeDto> getReports(Long employeeId, Integer depth) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
+        int maxDepth = depth == null ? MAX_ORG_DEPTH : Math.max(1, Math.min(depth, MAX_ORG_DEPTH));
+        return employeeRepository.findReportingSubtree(employeeId, maxDepth).stream()
+                .map(EmployeeServiceImpl::toOrgChartNode)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the management chain above an employee with one recursive query.
+     *
+     * @param employeeId the ID of the employee
+     * @return the managers from the direct manager up to the top of the hierarchy
+     * @throws ResourceNotFoundException if no employee exists with the given ID
+     */
+    @Override
+    public List<OrgChartNodeDto> getManagementChain(Long employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+        }
+        return employeeRepository.findManagementChain(employeeId).stream()
+                .map(EmployeeServiceImpl::toOrgChartNode)
                 .collect(Collectors.toList());
     }
+
+    private static OrgChartNodeDto toOrgChartNode(EmployeeRepository.OrgChartRow row) {
+        return new OrgChartNodeDto(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail(),
+                row.getDepartmentId(), row.getManagerId(), row.getDepth());
+    }
 }
@@ -0,0 +1,126 @@
+package com.example.employee_sytem.service.Impl;
+import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.dto.LeaveRequestDTO;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import com.example.employee_sytem.service.ExportService;
+import com.example.employee_sytem.service.report.CsvFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ExportService interface.
+ * <p>
+ * Rows are read as DTO projections from a database cursor inside a read-only transaction: the fetch size
+ * hints on the streaming queries make the PostgreSQL driver fetch a few thousand rows at a time instead of
+ * buffering the whole result, and projections are not tracked by the persistence context. Each row is
+ * written to a buffered writer as soon as it is read, and the output is only flushed once at the end, so
+ * the servlet container sends full buffers rather than one packet per row.
+ * </p>
+ */
+@Service
+@AllArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024; // Bytes of CSV buffered before they are written out
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all employees, ordered by ID.
+     *
+     * @param format the format to write.
+     * @param outputStream the stream the export is written to.
+     * @return the number of employees written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(Format format, OutputStream outputStream) throws IOException {
+        try (Stream<EmployeeDto> employees = employeeRepository.streamAllDtos()) {
+            return export(employees, EmployeeDto.class, format, outputStream,
+                    "id,firstName,lastName,email,departmentId",
+                    employee -> new Object[]{employee.getId(), employee.getFirstName(), employee.getLastName(),
+                            employee.getEmail(), employee.getDepartmentId()});
+        }
+    }
+
+    /**
+     * Writes all leave requests, in no particular order.
+     *
+     * @param format the format to write.
+     * @param outputStream the stream the export is written to.
+     * @return the number of leave requests written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportLeaveRequests(Format format, OutputStream outputStream) throws IOException {
+        try (Stream<LeaveRequestDTO> leaveRequests = leaveRequestRepository.streamAllDtos()) {
+            return export(leaveRequests, LeaveRequestDTO.class, format, outputStream,
+                    "id,employeeId,startDate,endDate,reason,status",
+                    leaveRequest -> new Object[]{leaveRequest.getId(), leaveRequest.getEmployeeId(),
+                            leaveRequest.getStartDate(), leaveRequest.getEndDate(), leaveRequest.getReason(),
+                            leaveRequest.getStatus()});
+        }
+    }
+
+    /**
+     * Writes the rows of a stream in the given format and flushes the output once all rows are written.
+     */
+    private <T> long export(Stream<T> rows, Class<T> type, Format format, OutputStream outputStream,
+                            String csvHeader, Function<T, Object[]> csvColumns) throws IOException {
+        long[] count = {0};
+        try {
+            if (format == Format.NDJSON) {
+                // Flushing after every value would send one tiny chunk per row to the client
+                ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null); // Lines are separated by the newline alone, not by a space too
+                rows.forEach(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.close(); // Flushes the generator's buffer; the output stream stays open
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                        WRITE_BUFFER_SIZE);
+                writer.write(csvHeader);
+                writer.write('\n');
+                rows.forEach(row -> {
+                    try {
+                        CsvFormat.writeRow(writer, csvColumns.apply(row));
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Usually the client went away
+        }
+        outputStream.flush();
+        return count[0];
+    }
+}
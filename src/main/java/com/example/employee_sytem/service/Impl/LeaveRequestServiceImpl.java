@@ -1,33 +1,89 @@
 package com.example.employee_sytem.service.Impl;
+import com.example.employee_sytem.dto.AbsenceDto;
+import com.example.employee_sytem.dto.LeaveDecisionDto;
+import com.example.employee_sytem.dto.LeaveDecisionResultDto;
+import com.example.employee_sytem.dto.LeaveLedgerDriftDto;
+import com.example.employee_sytem.dto.LeaveLedgerReportDto;
 import com.example.employee_sytem.dto.LeaveRequestDTO;
+import com.example.employee_sytem.dto.LeaveRequestPageDto;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
 import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.entity.LeaveBalanceId;
 import com.example.employee_sytem.entity.LeaveRequest;
+import com.example.employee_sytem.event.LeaveBalanceChangedEvent;
+import com.example.employee_sytem.event.LeaveRequestChangedEvent;
 import com.example.employee_sytem.exception.ResourceNotFoundException;
+import com.example.employee_sytem.index.IndexedAbsence;
+import com.example.employee_sytem.index.LeaveAbsenceIndex;
 import com.example.employee_sytem.mapper.LeaveRequestMapper;
 import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.repository.LeaveBalanceRepository;
 import com.example.employee_sytem.repository.LeaveRequestRepository;
 import com.example.employee_sytem.service.LeaveRequestServiceInterface;
+import com.example.employee_sytem.service.calendar.BusinessCalendar;
+import com.example.employee_sytem.service.lock.EmployeeLockStripes;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of the LeaveRequestServiceInterface to handle leave request management.
  * This service is responsible for creating, approving, denying, and retrieving leave requests,
  * as well as calculating and providing leave summaries for employees.
+ * <p>
+ * The leave days taken are kept in the leave-balance ledger, which is updated in the same transaction
+ * as every status change that approves or withdraws leave, so a leave summary never scans the
+ * employee's leave history. Leave is counted in working days of the {@link BusinessCalendar}.
+ * </p>
+ * <p>
+ * Approvals are serialised per employee: an in-JVM lock stripe keeps concurrent approvals for the same
+ * employee from queueing on database locks, and the balance row is read with {@code SELECT ... FOR UPDATE}
+ * so the check and the update are atomic across instances as well.
+ * </p>
+ * <p>
+ * The ledger records the fingerprint of the calendar its days were counted with. At startup, before the web
+ * server accepts requests, a ledger that is empty or was counted with another calendar (including the
+ * calendar-day counts of earlier versions) is rebuilt from the approved leave requests.
+ * </p>
  */
+@Slf4j
 @Service
 @AllArgsConstructor
-public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface {
+public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface, SmartInitializingSingleton {
 
     private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository; // Per-employee, per-year ledger of approved leave days
     private final EmployeeRepository employeeRepository; // Repository for accessing employee data
     private final LeaveRequestMapper leaveRequestMapper; // Mapper for converting between DTOs and entities
-    private static final int TOTAL_LEAVES_IN_A_YEAR = 27; // Total number of leaves allowed in a year
+    private final EmployeeLockStripes employeeLockStripes; // Per-employee serialisation of approvals
+    private final TransactionTemplate transactionTemplate; // Runs each approval in a transaction inside its lock stripe
+    private final LeaveAbsenceIndex leaveAbsenceIndex; // Interval index over approved leave
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessCalendar businessCalendar; // Counts leave in working days, skipping weekends and holidays
+    private static final int SUMMARY_CHUNK_SIZE = 1000; // Employee IDs per grouped leave-total query
+    private static final int MAX_PAGE_SIZE = 1000; // Upper bound for a single keyset page of leave requests
+    private static final String APPROVED = "APPROVED";
+    private static final String INSUFFICIENT_BALANCE = "Insufficient leave balance";
 
     /**
      * Creates a new leave request for an employee.
@@ -48,8 +104,12 @@ public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface {
 
     /**
      * Approves a leave request for a given leave request ID.
-     * If the employee has sufficient remaining leave balance, the leave request is approved.
-     * Otherwise, an exception is thrown.
+     * If the employee's remaining leave balance for the year in which the leave starts covers all of the
+     * requested days, the leave request is approved and its days are added to the leave-balance ledger.
+     * Otherwise, an exception is thrown. Approving an already approved request changes nothing.
+     * <p>
+     * The transaction runs inside the employee's lock stripe and commits before the stripe is released.
+     * </p>
      *
      * @param id the ID of the leave request to approve.
      * @return the approved LeaveRequestDTO object.
@@ -58,45 +118,115 @@ public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface {
      */
     @Override
     public LeaveRequestDTO approveLeaveRequest(Long id) {
-        LeaveRequest request = leaveRequestRepository.findById(id)
+        Long employeeId = leaveRequestRepository.findEmployeeIdById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave request not found"));
-
-        request.setStatus("APPROVED");
-
-        // Reduce the remaining leave balance if the leave is approved
-        Employee employee = request.getEmployee();
-        long totalLeaveDaysTaken = calculateTotalLeaveDaysTaken(employee);  // Change totalLeaveDaysTaken to long
-
-        // Calculate the remaining leave days
-        long remainingLeaveDays = TOTAL_LEAVES_IN_A_YEAR - totalLeaveDaysTaken;
-
-        // If remaining leave days are > 0, approve the leave
-        if (remainingLeaveDays > 0) {
-            leaveRequestRepository.save(request);
-        } else {
-            // If no leaves remain, throw an exception
-            throw new RuntimeException("Insufficient leave balance");
-        }
-
-        return leaveRequestMapper.toDTO(request);
+        return employeeLockStripes.withLock(employeeId,
+                () -> transactionTemplate.execute(status -> approveLocked(id)));
     }
 
     /**
      * Denies a leave request for a given leave request ID.
-     * Denied requests will not affect the leave balance.
+     * Denied requests do not count towards the leave balance; denying a previously approved request
+     * returns its days to the balance.
      *
      * @param id the ID of the leave request to deny.
      * @return the denied LeaveRequestDTO object.
      * @throws ResourceNotFoundException if the leave request with the given ID does not exist.
      */
     @Override
+    @Transactional
     public LeaveRequestDTO denyLeaveRequest(Long id) {
-        LeaveRequest request = leaveRequestRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Leave request not found"));
-        request.setStatus("DENIED");
-        leaveRequestRepository.save(request);
+        return withdrawLeaveRequest(id, "DENIED");
+    }
 
-        return leaveRequestMapper.toDTO(request);
+    /**
+     * Cancels a leave request for a given leave request ID.
+     * Cancelled requests do not count towards the leave balance; cancelling a previously approved request
+     * returns its days to the balance.
+     *
+     * @param id the ID of the leave request to cancel.
+     * @return the cancelled LeaveRequestDTO object.
+     * @throws ResourceNotFoundException if the leave request with the given ID does not exist.
+     */
+    @Override
+    @Transactional
+    public LeaveRequestDTO cancelLeaveRequest(Long id) {
+        return withdrawLeaveRequest(id, "CANCELLED");
+    }
+
+    /**
+     * Applies many approve, deny and cancel decisions in one transaction.
+     * <p>
+     * The leave request rows and the balances of the affected employees are read and locked with one query
+     * each, without loading any Employee, and the decisions are applied in the order given against those
+     * in-memory copies. The new statuses are written with one update per status and the changed balances in
+     * JDBC batches when the transaction commits. A decision that cannot be applied, such as an approval the
+     * remaining balance does not cover, is reported in its result and does not affect the other decisions.
+     * </p>
+     *
+     * @param decisions the decisions to apply.
+     * @return one LeaveDecisionResultDto per decision, in the order given.
+     */
+    @Override
+    @Transactional
+    public List<LeaveDecisionResultDto> decideLeaveRequests(List<LeaveDecisionDto> decisions) {
+        Set<Long> ids = decisions.stream()
+                .map(LeaveDecisionDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, LeaveRequestDTO> requests = ids.isEmpty() ? Map.of() : leaveRequestRepository.lockAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(LeaveRequestDTO::getId, Function.identity()));
+        Map<LeaveBalanceId, LeaveBalance> balances = lockBalances(requests.values());
+
+        List<LeaveDecisionResultDto> results = new ArrayList<>(decisions.size());
+        for (LeaveDecisionDto decision : decisions) {
+            LeaveRequestDTO request = requests.get(decision.getId());
+            if (request == null) {
+                results.add(new LeaveDecisionResultDto(decision.getId(), false, null, "Leave request not found"));
+                continue;
+            }
+            String action = decision.getDecision() == null ? "" : decision.getDecision().toUpperCase(Locale.ROOT);
+            String targetStatus = switch (action) {
+                case "APPROVE" -> APPROVED;
+                case "DENY" -> "DENIED";
+                case "CANCEL" -> "CANCELLED";
+                default -> null;
+            };
+            if (targetStatus == null) {
+                results.add(new LeaveDecisionResultDto(request.getId(), false, request.getStatus(),
+                        "Unknown decision: " + decision.getDecision()));
+                continue;
+            }
+
+            LeaveBalance balance = balances.get(balanceIdOf(request));
+            long leaveDays = businessCalendar.businessDays(request.getStartDate(), request.getEndDate());
+            boolean wasApproved = APPROVED.equals(request.getStatus());
+            if (APPROVED.equals(targetStatus) && !wasApproved) {
+                if (leaveDays > LeaveBalance.ANNUAL_ENTITLEMENT_DAYS - balance.getTakenDays()) {
+                    results.add(new LeaveDecisionResultDto(request.getId(), false, request.getStatus(), INSUFFICIENT_BALANCE));
+                    continue;
+                }
+                balance.setTakenDays(balance.getTakenDays() + leaveDays);
+            } else if (!APPROVED.equals(targetStatus) && wasApproved) {
+                balance.setTakenDays(balance.getTakenDays() - leaveDays);
+            }
+            request.setStatus(targetStatus);
+            results.add(new LeaveDecisionResultDto(request.getId(), true, targetStatus, null));
+        }
+
+        List<Long> changed = results.stream()
+                .filter(LeaveDecisionResultDto::isApplied)
+                .map(LeaveDecisionResultDto::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        changed.stream()
+                .collect(Collectors.groupingBy(id -> requests.get(id).getStatus()))
+                .forEach(leaveRequestRepository::updateStatus); // Last decision wins, one update per status
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new LeaveRequestChangedEvent(changed));
+        }
+        return results;
     }
 
     /**
@@ -115,14 +245,36 @@ public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface {
     }
 
     /**
-     * Retrieves all leave requests in the system.
+     * Retrieves one page of leave requests matching the given filters using keyset pagination.
+     * <p>
+     * The page is read with a single projection query ordered by start date and ID, starting after
+     * the given cursor, with only the given filters in its WHERE clause.
+     * </p>
      *
-     * @return a list of all LeaveRequestDTO objects in the system.
+     * @param status the status to filter by (optional, case-insensitive).
+     * @param from the first day of the date range (optional).
+     * @param to the last day of the date range, inclusive (optional).
+     * @param departmentId the department of the requesting employees (optional).
+     * @param employeeId the requesting employee (optional).
+     * @param afterStartDate the start date of the last request on the previous page (optional).
+     * @param afterId the ID of the last request on the previous page (optional).
+     * @param limit the maximum number of leave requests to return (clamped to 1..1000).
+     * @return a LeaveRequestPageDto with the leave requests and the cursor of the next page.
      */
     @Override
-    public List<LeaveRequestDTO> getAllLeaveRequests() {
-        List<LeaveRequest> requests = leaveRequestRepository.findAll();
-        return requests.stream().map(leaveRequestMapper::toDTO).collect(Collectors.toList());
+    public LeaveRequestPageDto getLeaveRequestsPage(String status, LocalDate from, LocalDate to, Long departmentId,
+                                                    Long employeeId, LocalDate afterStartDate, Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String statusFilter = status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+        List<LeaveRequestDTO> requests = leaveRequestRepository.findPage(statusFilter, from, to, departmentId,
+                employeeId, afterStartDate, afterStartDate != null ? afterId : null, pageSize);
+
+        String nextCursor = null;
+        if (requests.size() == pageSize) {
+            LeaveRequestDTO last = requests.get(requests.size() - 1);
+            nextCursor = last.getStartDate() + ":" + last.getId();
+        }
+        return new LeaveRequestPageDto(requests, nextCursor);
     }
 
     /**
@@ -138,42 +290,274 @@ public class LeaveRequestServiceImpl implements LeaveRequestServiceInterface {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
-        long totalLeaveDaysTaken = calculateTotalLeaveDaysTaken(employee);  // Change to long
-        long remainingLeaveDays = TOTAL_LEAVES_IN_A_YEAR - totalLeaveDaysTaken;
+        long totalLeaveDaysTaken = getTakenDays(employee.getId(), LocalDate.now().getYear());
+        long remainingLeaveDays = LeaveBalance.ANNUAL_ENTITLEMENT_DAYS - totalLeaveDaysTaken;
 
         return leaveRequestMapper.toLeaveSummaryDTO(employee, (int) totalLeaveDaysTaken, (int) remainingLeaveDays);  // Cast to int for the DTO
     }
 
     /**
-     * Calculates the total number of leave days taken by an employee.
-     * This includes all approved leave requests and calculates the days based on the
-     * start and end dates of each leave request.
+     * Retrieves the current-year leave summaries of many employees with one ledger query per 1000 employees.
      *
-     * @param employee the Employee entity for whom the leave days are to be calculated.
-     * @return the total number of leave days taken by the employee.
+     * @param employeeIds the IDs of the employees whose leave summaries are to be retrieved.
+     * @return the leave summaries keyed by employee ID; employees that do not exist are absent.
      */
-    private long calculateTotalLeaveDaysTaken(Employee employee) {
-        List<LeaveRequest> approvedRequests = leaveRequestRepository.findByEmployeeAndStatus(employee, "APPROVED");
+    @Override
+    public Map<Long, LeaveSummaryDTO> getLeaveSummaries(Collection<Long> employeeIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        Map<Long, LeaveSummaryDTO> summaries = new HashMap<>(ids.size() * 2);
+        int year = LocalDate.now().getYear();
 
-        long totalLeaveDaysTaken = 0;  // Initialize once, no re-assignment inside the loop
+        for (int from = 0; from < ids.size(); from += SUMMARY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, ids.size()));
+            for (LeaveBalanceRepository.LeaveTotalRow row : leaveBalanceRepository.findTakenDays(chunk, year)) {
+                int taken = row.getTakenDays().intValue();
+                summaries.put(row.getEmployeeId(), leaveRequestMapper.toLeaveSummaryDTO(row.getEmployeeId(),
+                        row.getFirstName(), row.getLastName(), taken, LeaveBalance.ANNUAL_ENTITLEMENT_DAYS - taken));
+            }
+        }
+        return summaries;
+    }
 
-        // Iterate through each approved leave request and calculate the number of days
-        for (LeaveRequest request : approvedRequests) {
-            LocalDate startDate = request.getStartDate();
-            LocalDate endDate = request.getEndDate();
+    /**
+     * Retrieves the approved leave that overlaps a date range, optionally within one department.
+     * <p>
+     * The absences are answered from the in-memory interval index, or by a range query while the
+     * index is still loading.
+     * </p>
+     *
+     * @param from the first day of the range.
+     * @param to the last day of the range (inclusive).
+     * @param departmentId the department to filter by, or null for all departments.
+     * @return the overlapping absences ordered by start date.
+     */
+    @Override
+    public List<AbsenceDto> getAbsences(LocalDate from, LocalDate to, Long departmentId) {
+        List<IndexedAbsence> absences = leaveAbsenceIndex.isReady()
+                ? leaveAbsenceIndex.findOverlapping(from, to, departmentId)
+                : leaveRequestRepository.findAbsences(from, to, departmentId);
+        return absences.stream().map(IndexedAbsence::toAbsenceDto).collect(Collectors.toList());
+    }
 
-            // Calculate the number of days between startDate and endDate (inclusive)
-            long leaveDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    /**
+     * Compares the leave-balance ledger with the balances recomputed from the approved leave requests.
+     *
+     * @return a LeaveLedgerReportDto listing every employee and year whose ledger value has drifted.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LeaveLedgerReportDto verifyLeaveLedger() {
+        return new LeaveLedgerReportDto(reconcileLedger(false), false);
+    }
+
+    /**
+     * Recomputes the leave-balance ledger from the approved leave requests.
+     * <p>
+     * Ledger updates from concurrent approvals are blocked for the duration of the rebuild,
+     * so the drift reported is the drift that the rebuild corrected. Only drifted balances are written.
+     * </p>
+     *
+     * @return a LeaveLedgerReportDto listing every employee and year whose ledger value was corrected.
+     */
+    @Override
+    @Transactional
+    public LeaveLedgerReportDto rebuildLeaveLedger() {
+        return new LeaveLedgerReportDto(rebuildLocked(), true);
+    }
 
-            // Accumulate the leave days
-            totalLeaveDaysTaken += leaveDays;
+    /**
+     * Rebuilds the leave-balance ledger at startup if it was not counted with the current calendar.
+     * <p>
+     * This runs once all beans exist, after the schema initializer and before the web server starts, so no
+     * approval can check a balance that is still missing or counted in other units. The ledger is locked
+     * before its unit is read, so when several instances start together only the first one rebuilds it.
+     * This covers an empty ledger, a ledger of calendar-day counts and a change of weekend days or holidays.
+     * </p>
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        String unit = businessCalendar.fingerprint();
+        transactionTemplate.executeWithoutResult(status -> {
+            leaveBalanceRepository.lockForRebuild();
+            if (!unit.equals(leaveBalanceRepository.findLedgerUnit())) {
+                List<LeaveLedgerDriftDto> drift = rebuildLocked();
+                leaveBalanceRepository.saveLedgerUnit(unit);
+                log.info("Rebuilt the leave-balance ledger for the current calendar, correcting {} balances", drift.size());
+            }
+        });
+    }
+
+    /**
+     * Approves a leave request in the current transaction.
+     * <p>
+     * The leave request row is locked first and the balance row second, the same order every status
+     * change uses, so a concurrent decision on the same request or employee waits instead of deadlocking.
+     * </p>
+     *
+     * @param id the ID of the leave request to approve.
+     * @return the approved LeaveRequestDTO object.
+     * @throws ResourceNotFoundException if the leave request with the given ID does not exist.
+     * @throws RuntimeException if the employee does not have sufficient leave balance.
+     */
+    private LeaveRequestDTO approveLocked(Long id) {
+        LeaveRequest request = leaveRequestRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Leave request not found"));
+        if (APPROVED.equals(request.getStatus())) {
+            return leaveRequestMapper.toDTO(request);
         }
 
-        return totalLeaveDaysTaken;  // Return the final total (as long)
+        // Lock the balance of the leave year; no other approval for this employee and year can pass until commit
+        Long employeeId = request.getEmployee().getId();
+        int year = request.getStartDate().getYear();
+        leaveBalanceRepository.createIfAbsent(employeeId, year);
+        LeaveBalance balance = leaveBalanceRepository.findForUpdate(employeeId, year);
+
+        // Calculate the remaining leave days
+        long remainingLeaveDays = LeaveBalance.ANNUAL_ENTITLEMENT_DAYS - balance.getTakenDays();
+
+        // Approve the leave only if the remaining leave days cover the whole request
+        if (leaveDaysOf(request) <= remainingLeaveDays) {
+            request.setStatus(APPROVED);
+            balance.setTakenDays(balance.getTakenDays() + leaveDaysOf(request));
+            leaveRequestRepository.save(request);
+            eventPublisher.publishEvent(LeaveRequestChangedEvent.of(request.getId()));
+        } else {
+            // If not enough leaves remain, throw an exception
+            throw new RuntimeException(INSUFFICIENT_BALANCE);
+        }
+
+        return leaveRequestMapper.toDTO(request);
     }
 
+    /**
+     * Moves a leave request to a status that does not count towards the leave balance.
+     * If the request was approved, its days are removed from the ledger in the same transaction.
+     *
+     * @param id the ID of the leave request.
+     * @param status the new status of the leave request.
+     * @return the updated LeaveRequestDTO object.
+     * @throws ResourceNotFoundException if the leave request with the given ID does not exist.
+     */
+    private LeaveRequestDTO withdrawLeaveRequest(Long id, String status) {
+        LeaveRequest request = leaveRequestRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Leave request not found"));
+        if (APPROVED.equals(request.getStatus())) {
+            leaveBalanceRepository.addTakenDays(request.getEmployee().getId(),
+                    request.getStartDate().getYear(), -leaveDaysOf(request));
+        }
+        request.setStatus(status);
+        leaveRequestRepository.save(request);
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.of(request.getId()));
 
-}
+        return leaveRequestMapper.toDTO(request);
+    }
+
+    /**
+     * Locks the ledger rows of exactly the employees and leave years touched by the given leave requests,
+     * creating the rows that do not exist yet in the same multi-row statements.
+     *
+     * @param requests the leave requests whose balances are needed.
+     * @return the locked balances keyed by employee and year.
+     */
+    private Map<LeaveBalanceId, LeaveBalance> lockBalances(Collection<LeaveRequestDTO> requests) {
+        Set<LeaveBalanceId> ids = requests.stream()
+                .map(this::balanceIdOf)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return leaveBalanceRepository.createAndLockAll(ids).stream()
+                .collect(Collectors.toMap(b -> new LeaveBalanceId(b.getEmployeeId(), b.getYear()), Function.identity()));
+    }
 
+    /**
+     * Identifies the ledger row a leave request counts towards: its employee and the year it starts in.
+     */
+    private LeaveBalanceId balanceIdOf(LeaveRequestDTO request) {
+        return new LeaveBalanceId(request.getEmployeeId(), request.getStartDate().getYear());
+    }
 
+    /**
+     * Reads the number of leave days an employee has taken in a year from the ledger.
+     *
+     * @param employeeId the ID of the employee.
+     * @param year the leave year.
+     * @return the leave days taken, or zero if the employee has no ledger row for the year.
+     */
+    private long getTakenDays(Long employeeId, int year) {
+        return leaveBalanceRepository.findById(new LeaveBalanceId(employeeId, year))
+                .map(LeaveBalance::getTakenDays)
+                .orElse(0L);
+    }
 
+    /**
+     * Counts the working days of a leave request.
+     *
+     * @param request the leave request.
+     * @return the number of working days from its start date to its end date, inclusive.
+     */
+    private long leaveDaysOf(LeaveRequest request) {
+        return businessCalendar.businessDays(request.getStartDate(), request.getEndDate());
+    }
+
+    /**
+     * Locks the ledger against concurrent updates and brings every drifted balance back in line with
+     * the approved leave requests. Must run inside a transaction. The employees whose balances were
+     * corrected are announced with a {@link LeaveBalanceChangedEvent}, so cached reports showing their
+     * balances are rendered again.
+     *
+     * @return the balances that were corrected.
+     */
+    private List<LeaveLedgerDriftDto> rebuildLocked() {
+        leaveBalanceRepository.lockForRebuild();
+        List<LeaveLedgerDriftDto> drift = reconcileLedger(true);
+        if (!drift.isEmpty()) {
+            log.warn("Rebuilt the leave-balance ledger, correcting {} drifted balances", drift.size());
+            eventPublisher.publishEvent(new LeaveBalanceChangedEvent(drift.stream()
+                    .map(LeaveLedgerDriftDto::getEmployeeId)
+                    .collect(Collectors.toCollection(TreeSet::new))));
+        }
+        return drift;
+    }
+
+    /**
+     * Recomputes every balance from the approved leave requests and compares it with the ledger.
+     * <p>
+     * The approved requests are streamed from a database cursor and their working days are summed per
+     * employee and leave year with the calendar bitmaps, so the recomputation does a constant amount of
+     * work per request. Must run inside a transaction.
+     * </p>
+     *
+     * @param correct whether drifted balances are to be corrected in the ledger.
+     * @return the balances whose ledger value differs from the recomputed value, ordered by employee and year.
+     */
+    private List<LeaveLedgerDriftDto> reconcileLedger(boolean correct) {
+        Map<LeaveBalanceId, Long> expected = new HashMap<>();
+        try (Stream<LeaveRequestRepository.ApprovedLeaveRow> rows = leaveRequestRepository.streamApprovedLeave()) {
+            rows.forEach(row -> expected.merge(new LeaveBalanceId(row.getEmployeeId(), row.getYear()),
+                    businessCalendar.businessDays(row.getStartDate(), row.getEndDate()), Long::sum));
+        }
+        Map<LeaveBalanceId, Long> ledger = new HashMap<>();
+        leaveBalanceRepository.findAll().forEach(balance ->
+                ledger.put(new LeaveBalanceId(balance.getEmployeeId(), balance.getYear()), balance.getTakenDays()));
+
+        Set<LeaveBalanceId> ids = new TreeSet<>(Comparator.comparing(LeaveBalanceId::getEmployeeId)
+                .thenComparing(LeaveBalanceId::getYear));
+        ids.addAll(expected.keySet());
+        ids.addAll(ledger.keySet());
+
+        List<LeaveLedgerDriftDto> drift = new ArrayList<>();
+        for (LeaveBalanceId id : ids) {
+            long expectedDays = expected.getOrDefault(id, 0L);
+            long ledgerDays = ledger.getOrDefault(id, 0L);
+            if (expectedDays != ledgerDays) {
+                drift.add(new LeaveLedgerDriftDto(id.getEmployeeId(), id.getYear(), expectedDays, ledgerDays));
+                if (correct) {
+                    leaveBalanceRepository.addTakenDays(id.getEmployeeId(), id.getYear(), expectedDays - ledgerDays);
+                }
+            }
+        }
+        return drift;
+    }
+
+}
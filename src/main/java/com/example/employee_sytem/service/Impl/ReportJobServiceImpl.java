@@ -0,0 +1,265 @@
+package com.example.employee_sytem.service.Impl;
+import com.example.employee_sytem.dto.ReportJobDto;
+import com.example.employee_sytem.exception.ResourceNotFoundException;
+import com.example.employee_sytem.service.DocumentService;
+import com.example.employee_sytem.service.EmployeeService;
+import com.example.employee_sytem.service.ReportJobService;
+import com.example.employee_sytem.service.report.ReportJob;
+import com.example.employee_sytem.service.report.ReportJobProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the ReportJobService interface.
+ * <p>
+ * Jobs run on a fixed pool of {@code app.report-jobs.threads} threads behind a queue of
+ * {@code app.report-jobs.queue-capacity} jobs; submissions beyond that are rejected rather than queued
+ * without bound. Each report is written to a temporary file in the spool directory and renamed once
+ * complete, so a download never sees a partial report. Finished jobs and their files are removed after
+ * {@code app.report-jobs.retention}.
+ * </p>
+ * <p>
+ * Cancelling a running job interrupts its thread, which closes the file channel the report is being
+ * written to and aborts the rendering at its next write.
+ * </p>
+ * <p>
+ * The queue depth and the number of running jobs are published as the {@code report.jobs.queued} and
+ * {@code report.jobs.running} gauges, and the time jobs wait and render as the {@code report.jobs.wait}
+ * and {@code report.jobs.duration} timers, the latter tagged with the outcome.
+ * </p>
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(ReportJobProperties.class)
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final String REPORT_PREFIX = "report-job-";
+    private static final String REPORT_SUFFIX = ".pdf";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final Pattern JOB_FILE = Pattern.compile(Pattern.quote(REPORT_PREFIX) + "[0-9a-f-]{36}"
+            + Pattern.quote(REPORT_SUFFIX) + "(" + Pattern.quote(PARTIAL_SUFFIX) + ")?");
+
+    private final EmployeeService employeeService;
+    private final DocumentService documentService;
+    private final MeterRegistry meterRegistry;
+    private final ReportJobProperties properties;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+
+    public ReportJobServiceImpl(EmployeeService employeeService, DocumentService documentService,
+                                MeterRegistry meterRegistry, ReportJobProperties properties) throws IOException {
+        this.employeeService = employeeService;
+        this.documentService = documentService;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+
+        Files.createDirectories(properties.getSpoolDirectory());
+        deleteLeftoverFiles(); // Jobs are not kept across restarts, so their files can no longer be downloaded
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("report.jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Report jobs waiting for a rendering thread")
+                .register(meterRegistry);
+        Gauge.builder("report.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Report jobs being rendered")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("report.jobs.wait")
+                .description("Time report jobs spend queued")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the employee IDs and queues the report.
+     *
+     * @param employeeIds the IDs of the employees to include in the report.
+     * @return the ReportJobDto of the queued job.
+     */
+    @Override
+    public ReportJobDto submitEmployeeReport(List<Long> employeeIds) {
+        List<Long> existingIds = employeeService.getExistingEmployeeIds(employeeIds);
+        String id = UUID.randomUUID().toString();
+        ReportJob job = new ReportJob(id, existingIds, properties.getSpoolDirectory().resolve(REPORT_PREFIX + id + REPORT_SUFFIX));
+
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RuntimeException e) {
+            jobs.remove(id);
+            throw e; // The queue is full
+        }
+        return mapToReportJobDto(job);
+    }
+
+    /**
+     * Retrieves the state of a report job.
+     *
+     * @param jobId the ID of the job.
+     * @return the ReportJobDto of the job.
+     */
+    @Override
+    public ReportJobDto getJob(String jobId) {
+        return mapToReportJobDto(findJob(jobId));
+    }
+
+    /**
+     * Retrieves the finished report of a job.
+     *
+     * @param jobId the ID of the job.
+     * @return the path of the report in the spool directory.
+     */
+    @Override
+    public Path getReportFile(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new IllegalStateException("Report job " + jobId + " is " + job.getStatus());
+        }
+        return job.getFile();
+    }
+
+    /**
+     * Cancels a queued or running report job and removes its queue entry and partial output.
+     *
+     * @param jobId the ID of the job.
+     * @return the ReportJobDto of the job after the cancellation.
+     */
+    @Override
+    public ReportJobDto cancelJob(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.cancel()) {
+            if (job.getFuture() != null) {
+                job.getFuture().cancel(true);
+            }
+            executor.purge(); // Drop the cancelled task from the queue so the queue gauge stays accurate
+            Instant startedAt = job.getStartedAt() != null ? job.getStartedAt() : job.getCreatedAt();
+            meterRegistry.timer("report.jobs.duration", "outcome", "cancelled")
+                    .record(Duration.between(startedAt, job.getFinishedAt()));
+        }
+        return mapToReportJobDto(job);
+    }
+
+    /**
+     * Removes finished jobs whose retention has passed, together with their reports.
+     */
+    @Scheduled(fixedDelayString = "${app.report-jobs.cleanup-interval:PT5M}")
+    public void removeExpiredJobs() {
+        Instant expiry = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> {
+            if (!job.getStatus().isFinished() || job.getFinishedAt().isAfter(expiry)) {
+                return false;
+            }
+            deleteFiles(job);
+            return true;
+        });
+    }
+
+    /**
+     * Stops the rendering threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Renders the report of a job into the spool directory.
+     */
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            return; // Cancelled while queued
+        }
+        waitTimer.record(Duration.between(job.getCreatedAt(), job.getStartedAt()));
+        Path partial = partialFileOf(job);
+        String outcome;
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(partial)) {
+                documentService.writeEmployeeReportPdf(job.getEmployeeIds(), outputStream);
+            }
+            Files.move(partial, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            outcome = job.complete(Files.size(job.getFile())) ? "completed" : null;
+        } catch (IOException | RuntimeException e) {
+            if (job.getStatus() != ReportJob.Status.CANCELLED) {
+                log.warn("Report job {} failed", job.getId(), e);
+            }
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            outcome = job.getStatus() == ReportJob.Status.FAILED ? "failed" : null;
+        }
+        if (outcome == null) {
+            deleteFiles(job); // Cancelled while rendering; the cancellation was already recorded
+            return;
+        }
+        meterRegistry.timer("report.jobs.duration", "outcome", outcome)
+                .record(Duration.between(job.getStartedAt(), job.getFinishedAt()));
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Deletes the reports left by jobs of a previous run. Only files named like a job's report are deleted,
+     * since the spool directory may be shared with other files.
+     */
+    private void deleteLeftoverFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(properties.getSpoolDirectory(),
+                file -> JOB_FILE.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void deleteFiles(ReportJob job) {
+        try {
+            Files.deleteIfExists(partialFileOf(job));
+            Files.deleteIfExists(job.getFile());
+        } catch (IOException e) {
+            log.warn("Could not delete the report of job {}", job.getId(), e);
+        }
+    }
+
+    private static Path partialFileOf(ReportJob job) {
+        return job.getFile().resolveSibling(job.getFile().getFileName() + PARTIAL_SUFFIX);
+    }
+
+    private static ReportJobDto mapToReportJobDto(ReportJob job) {
+        return new ReportJobDto(job.getId(), job.getStatus().name(), job.getEmployeeIds().size(),
+                job.getCreatedAt(), job.getStartedAt(), job.getFinishedAt(), job.getSizeBytes(), job.getError());
+    }
+}
@@ -2,14 +2,17 @@ package com.example.employee_sytem.service.Impl;
 import com.example.employee_sytem.dto.DepartmentDto;
 import com.example.employee_sytem.dto.EmployeeDto;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import com.example.employee_sytem.exception.ResourceNotFoundException;
 import com.example.employee_sytem.service.DepartmentService;
 import com.example.employee_sytem.service.EmployeeService;
 import com.example.employee_sytem.service.LeaveRequestServiceInterface;
 import com.example.employee_sytem.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Implementation of the ReportService interface to handle the generation of reports.
@@ -29,22 +32,15 @@ public class ReportServiceImpl implements ReportService {
 
     /**
      * Fetches the details of all employees for generating a report.
+     * <p>
+     * The employee service already returns DTO projections, so they are handed out as they are.
+     * </p>
      *
      * @return a list of EmployeeDto objects representing the employee details.
      */
     @Override
     public List<EmployeeDto> getEmployeeDetailsForReport() {
-        List<EmployeeDto> employees = employeeService.getAllEmployees();  // Get all employees
-        return employees.stream().map(employee -> {
-            // Convert Employee entity to EmployeeDTO
-            return new EmployeeDto(
-                    employee.getId(),
-                    employee.getFirstName(),
-                    employee.getLastName(),
-                    employee.getEmail(),
-                    employee.getDepartmentId()
-            );
-        }).collect(Collectors.toList());
+        return employeeService.getAllEmployees();  // Get all employees
     }
 
     /**
@@ -75,4 +71,41 @@ public class ReportServiceImpl implements ReportService {
         return leaveRequestService.getLeaveSummary(employeeId);
     }
 
+    /**
+     * Fetches the details of many departments with a single query.
+     *
+     * @param departmentIds the IDs of the departments whose details are to be fetched.
+     * @return the DepartmentDto of each department keyed by department ID.
+     */
+    @Override
+    public Map<Long, DepartmentDto> getDepartmentDetails(Collection<Long> departmentIds) {
+        return departmentService.getDepartmentsByIds(departmentIds);
+    }
+
+    /**
+     * Fetches the leave summaries of many employees with grouped queries.
+     *
+     * @param employeeIds the IDs of the employees whose leave summaries are to be fetched.
+     * @return the LeaveSummaryDTO of each employee keyed by employee ID.
+     */
+    @Override
+    public Map<Long, LeaveSummaryDTO> getLeaveSummaries(Collection<Long> employeeIds) {
+        return leaveRequestService.getLeaveSummaries(employeeIds);
+    }
+
+    /**
+     * Fetches the details of the given employees, leaving out those that no longer exist.
+     *
+     * @param employeeIds the IDs of the employees whose details are to be fetched.
+     * @return the EmployeeDto of each existing employee, ordered by ID.
+     */
+    @Override
+    public List<EmployeeDto> getEmployeeDetails(Collection<Long> employeeIds) {
+        try {
+            return employeeService.getEmployeesByIds(new ArrayList<>(employeeIds));
+        } catch (ResourceNotFoundException e) {
+            return List.of();  // Every employee of this chunk was deleted after the report was requested
+        }
+    }
+
 }
@@ -1,7 +1,15 @@
 package com.example.employee_sytem.service;
+import com.example.employee_sytem.dto.AbsenceDto;
+import com.example.employee_sytem.dto.LeaveDecisionDto;
+import com.example.employee_sytem.dto.LeaveDecisionResultDto;
+import com.example.employee_sytem.dto.LeaveLedgerReportDto;
 import com.example.employee_sytem.dto.LeaveRequestDTO;
+import com.example.employee_sytem.dto.LeaveRequestPageDto;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing leave requests in the employee system.
@@ -47,6 +55,30 @@ public interface LeaveRequestServiceInterface {
      */
     LeaveRequestDTO denyLeaveRequest(Long id);
 
+    /**
+     * Cancels a leave request.
+     * <p>
+     * This method will change the status of a leave request to "CANCELLED". If the request had been
+     * approved, its days are returned to the employee's leave balance.
+     * </p>
+     *
+     * @param id the ID of the leave request to be cancelled
+     * @return the updated LeaveRequestDTO with status set to "CANCELLED"
+     */
+    LeaveRequestDTO cancelLeaveRequest(Long id);
+
+    /**
+     * Approves, denies or cancels many leave requests at once.
+     * <p>
+     * All decisions are applied in one transaction. A decision that cannot be applied, for example an
+     * approval that exceeds the employee's remaining leave, is rejected individually.
+     * </p>
+     *
+     * @param decisions the leave request IDs and the decision for each
+     * @return the outcome of each decision, in the order given
+     */
+    List<LeaveDecisionResultDto> decideLeaveRequests(List<LeaveDecisionDto> decisions);
+
     /**
      * Retrieves all leave requests for a specific employee.
      * <p>
@@ -59,20 +91,30 @@ public interface LeaveRequestServiceInterface {
     List<LeaveRequestDTO> getLeaveRequestsByEmployee(Long employeeId);
 
     /**
-     * Retrieves all leave requests in the system.
+     * Retrieves one page of leave requests, optionally filtered.
      * <p>
-     * This method allows fetching all leave requests, regardless of the employee.
+     * Leave requests are ordered by start date and ID. Each page starts right after the last request of
+     * the previous page, identified by its start date and ID.
      * </p>
      *
-     * @return a list of all LeaveRequestDTOs in the system
+     * @param status the status to filter by (optional)
+     * @param from the first day of the date range; requests ending before it are left out (optional)
+     * @param to the last day of the date range; requests starting after it are left out (optional)
+     * @param departmentId the department of the requesting employees (optional)
+     * @param employeeId the requesting employee (optional)
+     * @param afterStartDate the start date of the last request on the previous page (optional, omit for the first page)
+     * @param afterId the ID of the last request on the previous page (optional, omit for the first page)
+     * @param limit the maximum number of leave requests to return
+     * @return the LeaveRequestPageDto containing the leave requests and the cursor of the next page
      */
-    List<LeaveRequestDTO> getAllLeaveRequests();
+    LeaveRequestPageDto getLeaveRequestsPage(String status, LocalDate from, LocalDate to, Long departmentId,
+                                             Long employeeId, LocalDate afterStartDate, Long afterId, int limit);
 
     /**
      * Retrieves the leave summary for an employee.
      * <p>
-     * This method calculates the total leave days taken, remaining leaves, and other relevant leave data
-     * for an employee based on their leave requests.
+     * This method reads the leave days taken in the current year from the leave-balance ledger and
+     * derives the remaining leaves and other relevant leave data for an employee.
      * </p>
      *
      * @param employeeId the ID of the employee whose leave summary is to be retrieved
@@ -80,4 +122,48 @@ public interface LeaveRequestServiceInterface {
      */
     LeaveSummaryDTO getLeaveSummary(Long employeeId);  // Get leave summary (remaining leaves)
 
+    /**
+     * Retrieves the leave summaries of many employees at once.
+     * <p>
+     * The leave totals are read from the leave-balance ledger with grouped queries instead of one
+     * summary lookup per employee.
+     * </p>
+     *
+     * @param employeeIds the IDs of the employees whose leave summaries are to be retrieved
+     * @return the leave summaries keyed by employee ID; employees that do not exist are absent
+     */
+    Map<Long, LeaveSummaryDTO> getLeaveSummaries(Collection<Long> employeeIds);
+
+    /**
+     * Retrieves the employees who are absent on approved leave during a date range.
+     * <p>
+     * Every approved leave that overlaps the range by at least one day is returned, optionally
+     * restricted to the employees of one department.
+     * </p>
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range (inclusive)
+     * @param departmentId the department to filter by, or null for all departments
+     * @return the overlapping absences ordered by start date
+     */
+    List<AbsenceDto> getAbsences(LocalDate from, LocalDate to, Long departmentId);
+
+    /**
+     * Verifies the leave-balance ledger.
+     * <p>
+     * The ledger is compared with the balances recomputed from the approved leave requests,
+     * without changing it.
+     * </p>
+     *
+     * @return the LeaveLedgerReportDto listing every balance that has drifted
+     */
+    LeaveLedgerReportDto verifyLeaveLedger();
+
+    /**
+     * Rebuilds the leave-balance ledger from the approved leave requests.
+     *
+     * @return the LeaveLedgerReportDto listing every balance that was corrected by the rebuild
+     */
+    LeaveLedgerReportDto rebuildLeaveLedger();
+
 }
\ No newline at end of file
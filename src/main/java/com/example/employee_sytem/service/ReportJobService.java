@@ -0,0 +1,55 @@
+package com.example.employee_sytem.service;
+
+import com.example.employee_sytem.dto.ReportJobDto;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Service interface for generating reports asynchronously.
+ * <p>
+ * Reports are rendered on a bounded pool of background threads and written to a spool directory, so a
+ * large report neither holds a request thread nor a database connection for the time it takes to render.
+ * Clients submit a job, poll its status and download the finished report.
+ * </p>
+ */
+public interface ReportJobService {
+
+    /**
+     * Queues an employee report for the given employees.
+     *
+     * @param employeeIds the IDs of the employees to include in the report
+     * @return the ReportJobDto of the queued job
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if none of the employees exist
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    ReportJobDto submitEmployeeReport(List<Long> employeeIds);
+
+    /**
+     * Retrieves the state of a report job.
+     *
+     * @param jobId the ID of the job
+     * @return the ReportJobDto of the job
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if no such job exists or it has expired
+     */
+    ReportJobDto getJob(String jobId);
+
+    /**
+     * Retrieves the finished report of a job.
+     *
+     * @param jobId the ID of the job
+     * @return the path of the report in the spool directory
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if no such job exists or it has expired
+     * @throws IllegalStateException if the job has not completed
+     */
+    Path getReportFile(String jobId);
+
+    /**
+     * Cancels a queued or running report job. Cancelling a job that has already ended has no effect.
+     *
+     * @param jobId the ID of the job
+     * @return the ReportJobDto of the job after the cancellation
+     * @throws com.example.employee_sytem.exception.ResourceNotFoundException if no such job exists or it has expired
+     */
+    ReportJobDto cancelJob(String jobId);
+}
@@ -2,7 +2,9 @@ package com.example.employee_sytem.service;
 import com.example.employee_sytem.dto.DepartmentDto;
 import com.example.employee_sytem.dto.EmployeeDto;
 import com.example.employee_sytem.dto.LeaveSummaryDTO;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for generating various reports in the employee system.
@@ -47,4 +49,40 @@ public interface ReportService {
      * @return the LeaveSummaryDTO containing the employee's leave details
      */
     LeaveSummaryDTO getLeaveSummary(Long employeeId);  // Fetch leave summary for report
-}
\ No newline at end of file
+
+    /**
+     * Fetches the details of many departments at once for reporting purposes.
+     * <p>
+     * This bulk variant of {@link #getDepartmentDetails(Long)} loads all departments with one query,
+     * so a report can look departments up in the returned map instead of querying per row.
+     * </p>
+     *
+     * @param departmentIds the IDs of the departments whose details are to be fetched
+     * @return the DepartmentDto of each department keyed by department ID
+     */
+    Map<Long, DepartmentDto> getDepartmentDetails(Collection<Long> departmentIds);
+
+    /**
+     * Fetches the leave summaries of many employees at once for reporting purposes.
+     * <p>
+     * This bulk variant of {@link #getLeaveSummary(Long)} computes all leave totals with grouped queries,
+     * so a report can look summaries up in the returned map instead of querying per row.
+     * </p>
+     *
+     * @param employeeIds the IDs of the employees whose leave summaries are to be fetched
+     * @return the LeaveSummaryDTO of each employee keyed by employee ID
+     */
+    Map<Long, LeaveSummaryDTO> getLeaveSummaries(Collection<Long> employeeIds);
+
+    /**
+     * Fetches the details of the given employees for reporting purposes.
+     * <p>
+     * Employees that no longer exist are left out instead of failing the report, so a report can load
+     * its employees chunk by chunk while it is being written.
+     * </p>
+     *
+     * @param employeeIds the IDs of the employees whose details are to be fetched
+     * @return the EmployeeDto of each existing employee, ordered by ID
+     */
+    List<EmployeeDto> getEmployeeDetails(Collection<Long> employeeIds);
+}
@@ -0,0 +1,132 @@
+package com.example.employee_sytem.service.bulkhead;
+
+import com.example.employee_sytem.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of calls of one class of expensive work that run at the same time.
+ * <p>
+ * A call takes a permit before it starts and gives it back once done. Calls beyond
+ * {@code maxConcurrent} wait in a bounded queue for up to {@code maxWait}; a call finding the queue full,
+ * or still waiting when the time is up, is rejected with a {@link BulkheadFullException}. Permits are not
+ * bound to a thread, so a permit taken on the request thread can be given back by the thread that
+ * finishes streaming the response.
+ * </p>
+ * <p>
+ * Waiting calls, running calls, rejections and waiting times are published as the
+ * {@code bulkhead.queued} and {@code bulkhead.active} gauges, the {@code bulkhead.rejected} counter and
+ * the {@code bulkhead.wait} timer, all tagged with the bulkhead's name.
+ * </p>
+ */
+public class Bulkhead {
+
+    /**
+     * A permit to run one call; closing it gives it back. Closing it again has no effect.
+     */
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private final String name;
+    private final BulkheadProperties.Limits limits;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public Bulkhead(String name, BulkheadProperties.Limits limits, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.limits = limits;
+        this.permits = new Semaphore(limits.getMaxConcurrent(), true); // Waiting calls run in arrival order
+
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get)
+                .description("Calls waiting for the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.active", permits, semaphore -> limits.getMaxConcurrent() - semaphore.availablePermits())
+                .description("Calls running inside the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        waitTimer = Timer.builder("bulkhead.wait")
+                .description("Time calls wait for the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        queueFullCounter = rejectedCounter(meterRegistry, "queue_full");
+        timeoutCounter = rejectedCounter(meterRegistry, "timeout");
+    }
+
+    /**
+     * Takes a permit, waiting for one if all are in use.
+     *
+     * @return the permit, which the caller must close once the call is done
+     * @throws BulkheadFullException if the queue is full or no permit became free in time
+     */
+    public Permit acquire() {
+        long startedAt = System.nanoTime();
+        if (tryAcquireNow()) {
+            waitTimer.record(Duration.ZERO);
+            return new Permit();
+        }
+        if (queued.incrementAndGet() > limits.getMaxQueued()) {
+            queued.decrementAndGet();
+            queueFullCounter.increment();
+            throw new BulkheadFullException(name, limits.getRetryAfter());
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(limits.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+        waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeoutCounter.increment();
+            throw new BulkheadFullException(name, limits.getRetryAfter());
+        }
+        return new Permit();
+    }
+
+    /**
+     * Takes a free permit unless calls are already waiting; unlike {@link Semaphore#tryAcquire()}, this does
+     * not overtake the queue.
+     */
+    private boolean tryAcquireNow() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bulkhead.rejected")
+                .description("Calls rejected by the bulkhead")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.employee_sytem.service.bulkhead;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the bulkheads around expensive endpoints, bound from the {@code app.bulkheads} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Limits of report downloads.
+     */
+    private Limits report = new Limits(3, 10);
+
+    /**
+     * Limits of exports and full-table listings.
+     */
+    private Limits export = new Limits(2, 5);
+
+    /**
+     * Limits of bulk writes and ledger maintenance.
+     */
+    private Limits bulk = new Limits(2, 5);
+
+    /**
+     * Limits of one bulkhead.
+     */
+    @Getter
+    @Setter
+    public static class Limits {
+
+        /**
+         * Number of calls running at the same time; each may hold one database connection.
+         */
+        private int maxConcurrent;
+
+        /**
+         * Number of calls that may wait for a running call to finish; further calls are rejected.
+         */
+        private int maxQueued;
+
+        /**
+         * How long a call waits before it is rejected.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        /**
+         * Delay suggested to rejected clients in the Retry-After header.
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        public Limits() {
+        }
+
+        Limits(int maxConcurrent, int maxQueued) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+    }
+}
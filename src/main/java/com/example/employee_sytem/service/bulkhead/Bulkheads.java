@@ -0,0 +1,60 @@
+package com.example.employee_sytem.service.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The bulkheads that keep expensive endpoints from starving everyday requests.
+ * <p>
+ * Reports, exports and bulk writes each get their own {@link Bulkhead}, so a burst of one class can
+ * only use up that class's permits. As every running call holds at most one database connection at a time,
+ * the permits are also each class's connection budget; the threads rendering large PDF reports in fragments
+ * are a separate, fixed budget of {@code app.report-rendering.parallelism} connections. The connections
+ * beyond these budgets stay free for CRUD requests. Streamed responses, cached reports included, take their
+ * permit before the response is handed to the MVC task executor and give it back when asynchronous processing
+ * of the request completes, even if the task never ran, so that executor never holds more streams than the
+ * report and export permits together.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class Bulkheads {
+
+    private final Bulkhead report;
+    private final Bulkhead export;
+    private final Bulkhead bulk;
+
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        report = new Bulkhead("report", properties.getReport(), meterRegistry);
+        export = new Bulkhead("export", properties.getExport(), meterRegistry);
+        bulk = new Bulkhead("bulk", properties.getBulk(), meterRegistry);
+    }
+
+    /**
+     * Returns the bulkhead of report downloads.
+     *
+     * @return the report bulkhead
+     */
+    public Bulkhead report() {
+        return report;
+    }
+
+    /**
+     * Returns the bulkhead of exports and full-table listings.
+     *
+     * @return the export bulkhead
+     */
+    public Bulkhead export() {
+        return export;
+    }
+
+    /**
+     * Returns the bulkhead of bulk writes and ledger maintenance.
+     *
+     * @return the bulk bulkhead
+     */
+    public Bulkhead bulk() {
+        return bulk;
+    }
+}
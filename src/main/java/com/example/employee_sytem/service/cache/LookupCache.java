@@ -0,0 +1,82 @@
+package com.example.employee_sytem.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for single-entity lookups.
+ * <p>
+ * Entries are evicted by size and by age, and hit, miss and eviction counts are published to Micrometer
+ * as {@code cache.gets} and {@code cache.evictions} tagged with the cache name. A disabled cache always
+ * calls the loader, so a cache can be switched off per entity type to measure its effect.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+public class LookupCache<K, V> {
+
+    private final Cache<K, V> cache; // Null when the cache is disabled
+
+    /**
+     * Creates a cache from its settings and registers its metrics.
+     *
+     * @param name the cache name used to tag its metrics
+     * @param spec the size, TTL and on/off settings of the cache
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    public LookupCache(String name, LookupCacheProperties.Spec spec, MeterRegistry meterRegistry) {
+        if (spec.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss.
+     * A loader result of null (e.g. entity not found) is returned but not cached.
+     *
+     * @param key the key to look up
+     * @param loader the function that loads the value from the database
+     * @return the cached or freshly loaded value, or null if the loader found nothing
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (cache == null) {
+            return loader.apply(key);
+        }
+        return cache.get(key, loader);
+    }
+
+    /**
+     * Removes the entry for the given key.
+     *
+     * @param key the key to invalidate
+     */
+    public void invalidate(K key) {
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes the entries for the given keys.
+     *
+     * @param keys the keys to invalidate
+     */
+    public void invalidateAll(Collection<K> keys) {
+        if (cache != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+}
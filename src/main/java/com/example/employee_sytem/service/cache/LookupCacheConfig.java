@@ -0,0 +1,42 @@
+package com.example.employee_sytem.service.cache;
+
+import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.EmployeeDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the lookup caches used by the employee and department services.
+ */
+@Configuration
+@EnableConfigurationProperties(LookupCacheProperties.class)
+public class LookupCacheConfig {
+
+    /**
+     * Cache of employees by ID, also used to resolve an employee's department.
+     *
+     * @param properties the cache settings
+     * @param meterRegistry the registry the cache metrics are published to
+     * @return the employee lookup cache
+     */
+    @Bean
+    public LookupCache<Long, EmployeeDto> employeeLookupCache(LookupCacheProperties properties,
+                                                              MeterRegistry meterRegistry) {
+        return new LookupCache<>("employees", properties.getEmployees(), meterRegistry);
+    }
+
+    /**
+     * Cache of departments by ID.
+     *
+     * @param properties the cache settings
+     * @param meterRegistry the registry the cache metrics are published to
+     * @return the department lookup cache
+     */
+    @Bean
+    public LookupCache<Long, DepartmentDto> departmentLookupCache(LookupCacheProperties properties,
+                                                                  MeterRegistry meterRegistry) {
+        return new LookupCache<>("departments", properties.getDepartments(), meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employee_sytem.service.cache;
+
+import com.example.employee_sytem.dto.DepartmentDto;
+import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.event.DepartmentChangedEvent;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Removes lookup cache entries when the entities behind them change.
+ * <p>
+ * Only the changed keys are invalidated, and only once the writing transaction has committed,
+ * so a concurrent reader cannot put the pre-commit state back into the cache.
+ * </p>
+ */
+@Component
+@AllArgsConstructor
+public class LookupCacheInvalidator {
+
+    private final LookupCache<Long, EmployeeDto> employeeLookupCache;
+    private final LookupCache<Long, DepartmentDto> departmentLookupCache;
+
+    /**
+     * Invalidates the cached employees named by the event.
+     *
+     * @param event the event naming the employees that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        employeeLookupCache.invalidateAll(event.getEmployeeIds());
+    }
+
+    /**
+     * Invalidates the cached department named by the event.
+     *
+     * @param event the event naming the department that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        departmentLookupCache.invalidate(event.getDepartmentId());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.employee_sytem.service.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the lookup caches, bound from the {@code app.cache} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class LookupCacheProperties {
+
+    /**
+     * Settings for the employee-by-ID cache.
+     */
+    private Spec employees = new Spec(true, 100_000, Duration.ofMinutes(10));
+
+    /**
+     * Settings for the department-by-ID cache.
+     */
+    private Spec departments = new Spec(true, 1_000, Duration.ofHours(1));
+
+    /**
+     * Size, time-to-live and on/off switch of one cache.
+     */
+    @Getter
+    @Setter
+    public static class Spec {
+        private boolean enabled;
+        private long maximumSize;
+        private Duration expireAfterWrite;
+
+        public Spec() {
+        }
+
+        public Spec(boolean enabled, long maximumSize, Duration expireAfterWrite) {
+            this.enabled = enabled;
+            this.maximumSize = maximumSize;
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+}
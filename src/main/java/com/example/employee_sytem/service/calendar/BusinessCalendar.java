@@ -0,0 +1,158 @@
+package com.example.employee_sytem.service.calendar;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts working days, leaving out weekends and public holidays.
+ * <p>
+ * Each year is precomputed once into a bitmap of six 64-bit words with one bit per day of the year, set
+ * for working days, together with the running number of working days before each word. The number of
+ * working days in any range is then the difference of two prefix counts, and each prefix count is one
+ * table lookup plus a masked {@link Long#bitCount(long)}, so a range costs the same regardless of its
+ * length. Ranges that span years add the precomputed totals of the years in between.
+ * </p>
+ * <p>
+ * Year bitmaps are built lazily on first use and are immutable, so lookups are lock-free.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(BusinessCalendarProperties.class)
+public class BusinessCalendar {
+
+    private final Set<DayOfWeek> weekendDays;
+    private final Set<LocalDate> holidays;
+    private final List<MonthDay> recurringHolidays;
+    private final ConcurrentMap<Integer, YearBitmap> years = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the calendar from the configured weekend days and holidays.
+     *
+     * @param properties the calendar settings
+     */
+    public BusinessCalendar(BusinessCalendarProperties properties) {
+        this.weekendDays = properties.getWeekendDays().isEmpty()
+                ? EnumSet.noneOf(DayOfWeek.class)
+                : EnumSet.copyOf(properties.getWeekendDays());
+        this.holidays = new HashSet<>(properties.getHolidays());
+        this.recurringHolidays = properties.getRecurringHolidays().stream()
+                .map(day -> MonthDay.parse("--" + day.trim()))
+                .toList();
+    }
+
+    /**
+     * Counts the working days from {@code start} to {@code end}, both inclusive.
+     *
+     * @param start the first day of the range
+     * @param end the last day of the range
+     * @return the number of working days in the range, or zero if {@code end} is before {@code start}
+     */
+    public long businessDays(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        int startYear = start.getYear();
+        int endYear = end.getYear();
+        YearBitmap first = year(startYear);
+        if (startYear == endYear) {
+            return first.countBefore(end.getDayOfYear()) - first.countBefore(start.getDayOfYear() - 1);
+        }
+        long days = first.total - first.countBefore(start.getDayOfYear() - 1);
+        for (int year = startYear + 1; year < endYear; year++) {
+            days += year(year).total;
+        }
+        return days + year(endYear).countBefore(end.getDayOfYear());
+    }
+
+    /**
+     * Identifies the calendar's configuration, so data counted under another configuration can be detected.
+     *
+     * @return a string that changes whenever the weekend days or holidays change
+     */
+    public String fingerprint() {
+        String config = "weekend=" + weekendDays + ";holidays=" + new TreeSet<>(holidays)
+                + ";recurring=" + new TreeSet<>(recurringHolidays);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(config.getBytes(StandardCharsets.UTF_8));
+            return "working-days:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Indicates whether a day is a working day.
+     *
+     * @param date the day to check
+     * @return true unless the day falls on a weekend or a public holiday
+     */
+    public boolean isBusinessDay(LocalDate date) {
+        int ordinal = date.getDayOfYear() - 1;
+        return (year(date.getYear()).words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    private YearBitmap year(int year) {
+        YearBitmap bitmap = years.get(year);
+        return bitmap != null ? bitmap : years.computeIfAbsent(year, this::buildYear);
+    }
+
+    private YearBitmap buildYear(int year) {
+        int length = Year.of(year).length();
+        long[] words = new long[(length + 63) >>> 6];
+        LocalDate day = LocalDate.ofYearDay(year, 1);
+        for (int ordinal = 0; ordinal < length; ordinal++, day = day.plusDays(1)) {
+            if (!weekendDays.contains(day.getDayOfWeek()) && !holidays.contains(day)
+                    && !recurringHolidays.contains(MonthDay.from(day))) {
+                words[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        return new YearBitmap(words);
+    }
+
+    /**
+     * The working days of one year as a bitmap (bit {@code n} is day {@code n + 1} of the year), with the
+     * number of working days before each word.
+     */
+    private static final class YearBitmap {
+        private final long[] words;
+        private final int[] countBeforeWord;
+        private final int total;
+
+        private YearBitmap(long[] words) {
+            this.words = words;
+            this.countBeforeWord = new int[words.length + 1];
+            for (int i = 0; i < words.length; i++) {
+                countBeforeWord[i + 1] = countBeforeWord[i] + Long.bitCount(words[i]);
+            }
+            this.total = countBeforeWord[words.length];
+        }
+
+        /**
+         * Counts the working days among the first {@code days} days of the year.
+         */
+        private int countBefore(int days) {
+            int word = days >>> 6;
+            int bits = days & 63;
+            if (bits == 0) {
+                return countBeforeWord[word];
+            }
+            return countBeforeWord[word] + Long.bitCount(words[word] & ((1L << bits) - 1));
+        }
+    }
+}
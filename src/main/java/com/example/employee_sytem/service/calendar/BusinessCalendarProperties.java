@@ -0,0 +1,34 @@
+package com.example.employee_sytem.service.calendar;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the business-day calendar, bound from the {@code app.calendar} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.calendar")
+public class BusinessCalendarProperties {
+
+    /**
+     * The days of the week that are never working days.
+     */
+    private List<DayOfWeek> weekendDays = new ArrayList<>(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    /**
+     * Public holidays on a fixed date of one year (ISO dates, e.g. 2024-08-15).
+     */
+    private List<LocalDate> holidays = new ArrayList<>();
+
+    /**
+     * Public holidays that fall on the same day every year, as {@code MM-dd} (e.g. 12-25).
+     */
+    private List<String> recurringHolidays = new ArrayList<>();
+}
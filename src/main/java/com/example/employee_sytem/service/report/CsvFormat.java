@@ -0,0 +1,41 @@
+package com.example.employee_sytem.service.report;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes CSV rows as read back by the bulk import: comma-separated, with values that contain a separator,
+ * quote or line break enclosed in quotes and quotes doubled.
+ */
+public final class CsvFormat {
+
+    private CsvFormat() {
+    }
+
+    /**
+     * Writes one CSV row followed by a line break. Null values are written as empty fields.
+     *
+     * @param writer the writer the row is written to
+     * @param values the values of the row
+     * @throws IOException if writing fails
+     */
+    public static void writeRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] == null) {
+                continue;
+            }
+            String value = values[i].toString();
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+            } else {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+}
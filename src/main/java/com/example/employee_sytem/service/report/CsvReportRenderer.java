@@ -0,0 +1,51 @@
+package com.example.employee_sytem.service.report;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders the employee report as CSV, one line per employee after a header line.
+ */
+@Component
+public class CsvReportRenderer implements ReportRenderer {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024; // Bytes buffered before they are written out
+
+    @Override
+    public String format() {
+        return "csv";
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv;charset=UTF-8";
+    }
+
+    @Override
+    public void render(Rows rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        CsvFormat.writeRow(writer, "id", "firstName", "lastName", "email", "departmentId", "departmentName",
+                "totalLeaveDays", "takenLeaves", "remainingLeaves");
+        try {
+            rows.forEach(row -> {
+                try {
+                    CsvFormat.writeRow(writer, row.getId(), row.getFirstName(), row.getLastName(), row.getEmail(),
+                            row.getDepartmentId(), row.getDepartmentName(), row.getTotalLeaveDays(),
+                            row.getTakenLeaves(), row.getRemainingLeaves());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+}
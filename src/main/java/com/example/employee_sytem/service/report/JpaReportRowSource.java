@@ -0,0 +1,52 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link ReportRowSource} that streams the rows from one joined query over employees, departments and
+ * the leave-balance ledger.
+ * <p>
+ * All employees are read with one cursor. Given IDs are sorted and read {@value #ID_CHUNK_SIZE} at a time,
+ * one cursor per chunk, which keeps every query's IN list small while the rows still arrive in ID order.
+ * All cursors are read in one read-only transaction.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaReportRowSource implements ReportRowSource {
+
+    private static final int ID_CHUNK_SIZE = 1000; // Employee IDs per cursor when IDs are given
+
+    private final EmployeeRepository employeeRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRow(Collection<Long> employeeIds, Consumer<EmployeeReportRowDto> consumer) {
+        int year = LocalDate.now().getYear();
+        if (employeeIds == null) {
+            try (Stream<EmployeeReportRowDto> rows = employeeRepository.streamReportRows(true, List.of(-1L), year)) {
+                rows.forEach(consumer);
+            }
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new TreeSet<>(employeeIds));
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+            try (Stream<EmployeeReportRowDto> rows = employeeRepository.streamReportRows(false, chunk, year)) {
+                rows.forEach(consumer);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders the employee report as a JSON array of rows, written element by element.
+ */
+@Component
+public class JsonReportRenderer implements ReportRenderer {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public JsonReportRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Flushing after every value would send one tiny chunk per row to the client
+        this.rowWriter = objectMapper.writerFor(EmployeeReportRowDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public String format() {
+        return "json";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+
+    @Override
+    public void render(Rows rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        try {
+            rows.forEach(row -> {
+                try {
+                    rowWriter.writeValue(generator, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.close(); // Flushes the generator's buffer; the output stream stays open
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.LineSeparator;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders the employee report as a PDF with iText's large-table support.
+ * <p>
+ * The table is added to the document before its rows and is flushed to the page every
+ * {@value #ROWS_PER_FLUSH} rows. Together with a PdfWriter that writes straight to the target stream, only
+ * the rows since the last flush and the page being laid out are held in memory. The title font program and
+ * the cell styles are created once and shared by all renders: iText binds a PdfFont to one document, but
+ * the font program behind it is immutable, and styles are only read.
+ * </p>
+ */
+@Component
+public class PdfReportRenderer implements ReportRenderer {
+
+    private static final int ROWS_PER_FLUSH = 500; // Rows laid out and released from the table at a time
+    private static final FontProgram TITLE_FONT_PROGRAM = loadFontProgram(StandardFonts.HELVETICA_BOLD);
+    private static final String[] HEADERS = {"Employee ID", "Employee Name", "Email", "Department ID",
+            "Department Name", "Leave Summary"};
+    private static final float[] COLUMN_WIDTHS = {2, 3, 3, 2, 3, 4}; // Relative proportions
+    private static final Style HEADER_CELL = new Style().setBold().setTextAlignment(TextAlignment.CENTER).setPadding(5);
+    private static final Style CENTERED_CELL = new Style().setTextAlignment(TextAlignment.CENTER).setPadding(5);
+    private static final Style LEFT_CELL = new Style().setTextAlignment(TextAlignment.LEFT).setPadding(5);
+
+    @Override
+    public String format() {
+        return "pdf";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/pdf";
+    }
+
+    @Override
+    public void render(Rows rows, OutputStream outputStream) throws IOException {
+        renderFragment(rows, outputStream, true);
+    }
+
+    /**
+     * Renders a standalone PDF holding part of a report, to be merged with the other parts.
+     * <p>
+     * Every fragment repeats the table header; only the first one should carry the title.
+     * </p>
+     *
+     * @param rows the rows of the fragment
+     * @param outputStream the stream the PDF is written to; it is left open
+     * @param withTitle whether to start with the report title
+     * @throws IOException if writing the PDF fails
+     */
+    public void renderFragment(Rows rows, OutputStream outputStream, boolean withTitle) throws IOException {
+        // Initialize PdfWriter and PdfDocument
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false); // The caller owns the stream
+        PdfDocument pdfDocument = new PdfDocument(writer);
+
+        // Create Document instance for adding content
+        Document document = new Document(pdfDocument);
+
+        if (withTitle) {
+            // Add a title with styling; the PdfFont is bound to this document, the font program is shared
+            PdfFont font = PdfFontFactory.createFont(TITLE_FONT_PROGRAM, PdfEncodings.WINANSI);
+            document.add(new Paragraph("Employee Report")
+                    .setFont(font)  // Set the bold font
+                    .setFontSize(18)
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            // Add a line separator with 1-point width
+            document.add(new LineSeparator(new SolidLine(1f)));
+            document.add(new Paragraph(" ")); // Add some spacing after the line separator
+        }
+
+        // Create a large table with 6 columns in relative proportions; rows added to a large table
+        // are laid out and released every time the table is flushed
+        Table table = new Table(UnitValue.createPercentArray(COLUMN_WIDTHS), true);
+        table.setWidth(UnitValue.createPercentValue(100));  // Use the full width of the page
+
+        // Add table headers with styling; header cells are repeated on every page
+        for (String header : HEADERS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header)).addStyle(HEADER_CELL));
+        }
+
+        // A large table must be added to the document before its rows
+        document.add(table);
+
+        int[] pending = {0};
+        rows.forEach(row -> {
+            addRow(table, row);
+            if (++pending[0] == ROWS_PER_FLUSH) {
+                table.flush();  // Lay out the completed rows and release them
+                pending[0] = 0;
+            }
+        });
+        table.complete();
+
+        // Add some space after the table
+        document.add(new Paragraph(" "));
+
+        // Close the document to finish the PDF
+        document.close();
+    }
+
+    private static void addRow(Table table, EmployeeReportRowDto employee) {
+        table.addCell(new Cell().add(new Paragraph(String.valueOf(employee.getId())))
+                .addStyle(CENTERED_CELL));
+        table.addCell(new Cell().add(new Paragraph(employee.getFirstName() + " " + employee.getLastName()))
+                .addStyle(LEFT_CELL));
+        table.addCell(new Cell().add(new Paragraph(employee.getEmail()))
+                .addStyle(LEFT_CELL));
+        table.addCell(new Cell().add(new Paragraph(String.valueOf(employee.getDepartmentId())))
+                .addStyle(CENTERED_CELL));
+        table.addCell(new Cell().add(new Paragraph(employee.getDepartmentName() != null
+                        ? employee.getDepartmentName() : "No Department"))
+                .addStyle(LEFT_CELL));
+
+        String leaveSummaryText = "Total Leave: " + employee.getTotalLeaveDays() +
+                ", Taken: " + employee.getTakenLeaves() +
+                ", Remaining: " + employee.getRemainingLeaves();
+        table.addCell(new Cell().add(new Paragraph(leaveSummaryText))
+                .addStyle(LEFT_CELL));
+    }
+
+    private static FontProgram loadFontProgram(String fontName) {
+        try {
+            return FontProgramFactory.createFont(fontName);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
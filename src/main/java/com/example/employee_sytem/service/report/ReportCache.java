@@ -0,0 +1,332 @@
+package com.example.employee_sytem.service.report;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Disk-backed LRU cache of rendered employee reports.
+ * <p>
+ * A report is stored under its format and a hash of its sorted employee IDs, together with the data-version
+ * stamp from {@link ReportDataVersions} it was rendered at. Only the formats listed in
+ * {@code app.report-cache.formats} are cached. A lookup only hits if the stamp is still current, so a
+ * change to any employee, department or leave request in the report makes the next download render
+ * again, which then replaces the stale file. The same key and stamp form the report's strong ETag.
+ * </p>
+ * <p>
+ * Reports are written to the cache while they are streamed to the client and only enter it once complete.
+ * Reports can also be stored ahead of any download, as the {@link ReportPregenerator} does. The least
+ * recently used reports are evicted once the cache exceeds {@code app.report-cache.maximum-size}.
+ * </p>
+ * <p>
+ * Each report's file is named after its employee-set hash, stamp and format. On a clean shutdown the data
+ * versions are saved next to the reports; on startup they are restored and the index is rebuilt from the
+ * file names, with the most recently written reports evicted last, so pre-rendered reports survive restarts.
+ * If the versions could not be restored, no stamp on disk can be current and the reports are deleted.
+ * Only files named like the cache's own are ever deleted.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ReportCacheProperties.class)
+public class ReportCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String VERSIONS_FILE = "report-data-versions.state";
+    private static final Pattern REPORT_FILE = Pattern.compile("([0-9a-f]{64})-([0-9a-f]{64})\\.([a-z0-9]+)");
+    private static final Pattern TEMP_FILE = Pattern.compile("[0-9a-f]{64}-[0-9a-f]{64}\\.[a-z0-9]+-[0-9a-f-]{36}\\.tmp");
+
+    /**
+     * Identifies a report in one format over a set of employees at one data version.
+     *
+     * @param format the format of the report, which is also the extension of its file
+     * @param idsHash the hash of the sorted employee IDs
+     * @param stamp the data-version stamp
+     */
+    public record Key(String format, String idsHash, String stamp) {
+
+        /**
+         * Returns the strong ETag of the report.
+         *
+         * @return the quoted entity tag
+         */
+        public String etag() {
+            return "\"" + format + "-" + idsHash.substring(0, 32) + "-" + stamp.substring(0, 32) + "\"";
+        }
+
+        private String name() {
+            return idsHash + "." + format; // Identifies the report in the index, whatever its stamp
+        }
+
+        private String fileName() {
+            return idsHash + "-" + stamp + "." + format;
+        }
+    }
+
+    /**
+     * Writes a report to an output stream.
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private record Entry(String fileName, String stamp, long size) {
+    }
+
+    private final ReportCacheProperties properties;
+    private final ReportDataVersions reportDataVersions;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // By Key.name(), in access order
+    private long totalSize;
+
+    public ReportCache(ReportCacheProperties properties, ReportDataVersions reportDataVersions) throws IOException {
+        this.properties = properties;
+        this.reportDataVersions = reportDataVersions;
+        if (properties.isEnabled()) {
+            Files.createDirectories(properties.getDirectory());
+            loadIndex(properties.isKeepOnRestart()
+                    && reportDataVersions.restore(properties.getDirectory().resolve(VERSIONS_FILE)));
+        }
+    }
+
+    /**
+     * Saves the data versions so the next start can keep the cached reports.
+     */
+    @PreDestroy
+    public void saveVersions() {
+        if (properties.isEnabled() && properties.isKeepOnRestart()) {
+            try {
+                reportDataVersions.save(properties.getDirectory().resolve(VERSIONS_FILE));
+            } catch (IOException e) {
+                log.warn("Could not save the report data versions; cached reports are dropped on the next start", e);
+            }
+        }
+    }
+
+    /**
+     * Indexes the reports found on disk, or deletes them if their stamps cannot be current. Leftover temporary
+     * files and all but the newest copy of a report are deleted.
+     *
+     * @param keep whether the data versions were restored, so the stamps on disk may still be current
+     */
+    private void loadIndex(boolean keep) throws IOException {
+        List<Path> reports = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(properties.getDirectory())) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                Matcher report = REPORT_FILE.matcher(fileName);
+                if (report.matches() && keep && properties.getFormats().contains(report.group(3))) {
+                    reports.add(file);
+                } else if (report.matches() || TEMP_FILE.matcher(fileName).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path file : reports) {
+            modified.put(file, Files.getLastModifiedTime(file));
+        }
+        reports.sort(Comparator.comparing(modified::get));
+        for (Path file : reports) { // Oldest first, so the newest reports end up most recently used
+            Matcher report = REPORT_FILE.matcher(file.getFileName().toString());
+            report.matches();
+            Entry entry = new Entry(file.getFileName().toString(), report.group(2), Files.size(file));
+            Entry previous = entries.put(report.group(1) + "." + report.group(3), entry);
+            totalSize += entry.size() - (previous != null ? previous.size() : 0);
+            if (previous != null) {
+                deleteFile(previous.fileName()); // An older stamp of the same report
+            }
+        }
+        evict();
+        if (!entries.isEmpty()) {
+            log.info("Report cache kept {} reports ({} bytes) from the previous run", entries.size(), totalSize);
+        }
+    }
+
+    /**
+     * Indicates whether reports are cached.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Indicates whether reports in a format are cached.
+     *
+     * @param format the format name
+     * @return true if the cache is enabled and the format is one of the cached formats
+     */
+    public boolean isCached(String format) {
+        return properties.isEnabled() && properties.getFormats().contains(format);
+    }
+
+    /**
+     * Computes the key of the current report in a format over the given employees.
+     *
+     * @param format the format of the report
+     * @param employeeIds the IDs of the employees in the report, in any order and possibly with duplicates
+     * @return the key identifying the report at the current data version
+     */
+    public Key keyFor(String format, Collection<Long> employeeIds) {
+        List<Long> canonical = employeeIds.stream().distinct().sorted().toList(); // Same set, same key and ETag
+        return new Key(format, ReportDataVersions.hashOf(canonical), reportDataVersions.stampOf(canonical));
+    }
+
+    /**
+     * Indicates whether a report is cached at the key's data version, without opening it.
+     *
+     * @param key the key of the report
+     * @return true if a lookup of the key would hit
+     */
+    public synchronized boolean contains(Key key) {
+        Entry entry = entries.get(key.name()); // Counts as a use, so checked reports are evicted last
+        return entry != null && entry.stamp().equals(key.stamp()) && Files.exists(fileOf(entry.fileName()));
+    }
+
+    /**
+     * Opens the cached report for a key, if it is cached at the key's data version.
+     *
+     * @param key the key of the report
+     * @return a stream over the cached report that the caller must close, or null on a miss
+     */
+    public InputStream open(Key key) throws IOException {
+        synchronized (this) {
+            Entry entry = entries.get(key.name());
+            if (entry == null || !entry.stamp().equals(key.stamp())) {
+                return null;
+            }
+            try {
+                return Files.newInputStream(fileOf(entry.fileName())); // Stays readable if evicted while open
+            } catch (NoSuchFileException e) {
+                remove(key.name());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Renders a report to an output stream while storing a copy in the cache.
+     * <p>
+     * The copy replaces any older version of the report once the writer has finished. If the writer fails,
+     * for example because the client went away, nothing is cached.
+     * </p>
+     *
+     * @param key the key of the report
+     * @param outputStream the stream the report is written to; it is left open
+     * @param writer renders the report
+     * @throws IOException if rendering or writing the report fails
+     */
+    public void writeThrough(Key key, OutputStream outputStream, ReportWriter writer) throws IOException {
+        Path temp = properties.getDirectory().resolve(key.fileName() + "-" + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            try (OutputStream copy = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(new TeeOutputStream(outputStream, copy));
+            }
+            long size = Files.size(temp);
+            synchronized (this) {
+                Files.move(temp, fileOf(key.fileName()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Entry previous = entries.put(key.name(), new Entry(key.fileName(), key.stamp(), size));
+                totalSize += size - (previous != null ? previous.size() : 0);
+                if (previous != null && !previous.fileName().equals(key.fileName())) {
+                    deleteFile(previous.fileName()); // The report at an older stamp
+                }
+                evict();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Evicts the least recently used reports until the cache fits its maximum size.
+     */
+    private void evict() {
+        long maximumSize = properties.getMaximumSize().toBytes();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalSize > maximumSize && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            eldest.remove();
+            totalSize -= entry.getValue().size();
+            deleteFile(entry.getValue().fileName());
+        }
+    }
+
+    private void remove(String name) {
+        Entry entry = entries.remove(name);
+        if (entry != null) {
+            totalSize -= entry.size();
+        }
+    }
+
+    private void deleteFile(String fileName) {
+        try {
+            Files.deleteIfExists(fileOf(fileName));
+        } catch (IOException e) {
+            log.warn("Could not delete cached report {}", fileName, e);
+        }
+    }
+
+    private Path fileOf(String fileName) {
+        return properties.getDirectory().resolve(fileName);
+    }
+
+    /**
+     * Writes everything to both the client's stream and the cache copy.
+     */
+    private static final class TeeOutputStream extends FilterOutputStream {
+        private final OutputStream copy;
+
+        private TeeOutputStream(OutputStream out, OutputStream copy) {
+            super(out);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            // The client's stream belongs to the caller and the copy to the cache
+        }
+    }
+}
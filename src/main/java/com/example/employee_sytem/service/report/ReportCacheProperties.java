@@ -0,0 +1,46 @@
+package com.example.employee_sytem.service.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings for the report cache, bound from the {@code app.report-cache} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.report-cache")
+public class ReportCacheProperties {
+
+    /**
+     * Whether rendered reports are cached at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory the cached reports are stored in.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "employee-report-cache");
+
+    /**
+     * Total size of the cached reports; the least recently used reports are evicted beyond it.
+     */
+    private DataSize maximumSize = DataSize.ofGigabytes(1);
+
+    /**
+     * Report formats that are cached; reports in other formats are always rendered.
+     */
+    private Set<String> formats = new LinkedHashSet<>(List.of("pdf", "xlsx"));
+
+    /**
+     * Whether cached reports are kept across a clean restart. Turn this off if the database can be changed
+     * while the application is down, since such changes are not seen by the data versions.
+     */
+    private boolean keepOnRestart = true;
+}
@@ -0,0 +1,182 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.event.DepartmentChangedEvent;
+import com.example.employee_sytem.event.EmployeeChangedEvent;
+import com.example.employee_sytem.event.LeaveBalanceChangedEvent;
+import com.example.employee_sytem.event.LeaveRequestChangedEvent;
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks versions of the data that goes into employee reports, so a cached report can be recognised as
+ * current without rendering it again.
+ * <p>
+ * Every employee whose row, leave or leave balance changes gets a new version, and every department change advances
+ * the version shared by all reports, since any employee may belong to the department. The versions are
+ * advanced once the writing transaction has committed. A report's stamp is a hash of the versions of its
+ * employees, the department version, the leave year its summaries are for and an epoch. The epoch is new
+ * on every start, because changes made while the application was down are not seen, unless the versions
+ * saved at the previous clean shutdown are restored with {@link #restore(Path)}; the {@link ReportCache}
+ * does so to keep its reports across restarts.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportDataVersions {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    private volatile String epoch = UUID.randomUUID().toString();
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Long, Long> employeeVersions = new ConcurrentHashMap<>(); // Only employees that changed
+    private volatile long departmentVersion;
+
+    /**
+     * Computes the data-version stamp of a report over the given employees.
+     *
+     * @param employeeIds the IDs of the employees in the report
+     * @return a hex string that changes whenever data shown in the report may have changed
+     */
+    public String stampOf(List<Long> employeeIds) {
+        MessageDigest digest = sha256();
+        digest.update((epoch + ":" + LocalDate.now().getYear() + ":" + departmentVersion).getBytes(StandardCharsets.UTF_8));
+        for (Long employeeId : employeeIds) {
+            Long version = employeeVersions.get(employeeId);
+            if (version != null) {
+                digest.update((";" + employeeId + "=" + version).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Advances the versions of the employees named by the event.
+     *
+     * @param event the event naming the employees that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        event.getEmployeeIds().forEach(this::advance);
+    }
+
+    /**
+     * Advances the versions of the employees whose leave requests are named by the event.
+     *
+     * @param event the event naming the leave requests that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        leaveRequestRepository.findEmployeeIdsByIdIn(event.getLeaveRequestIds()).forEach(this::advance);
+    }
+
+    /**
+     * Advances the versions of the employees whose leave balances were corrected, for example by a
+     * rebuild of the leave-balance ledger.
+     *
+     * @param event the event naming the employees whose balances changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveBalanceChanged(LeaveBalanceChangedEvent event) {
+        event.getEmployeeIds().forEach(this::advance);
+    }
+
+    /**
+     * Advances the version shared by all reports.
+     *
+     * @param event the event naming the department that changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        departmentVersion = clock.incrementAndGet();
+    }
+
+    /**
+     * Saves the versions to a file, from which the next start can restore them.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(epoch + " " + clock.get() + " " + departmentVersion);
+        employeeVersions.forEach((employeeId, version) -> lines.add(employeeId + " " + version));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Restores the versions saved by {@link #save(Path)} and deletes the file, so a run that does not
+     * save its versions again starts the next one with a new epoch.
+     *
+     * @param file the file written at the previous shutdown
+     * @return true if the versions were restored, false if the file is missing or unreadable
+     */
+    public synchronized boolean restore(Path file) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            Files.delete(file);
+            String[] header = lines.get(0).split(" ");
+            Map<Long, Long> versions = new HashMap<>();
+            for (String line : lines.subList(1, lines.size())) {
+                String[] fields = line.split(" ");
+                versions.put(Long.parseLong(fields[0]), Long.parseLong(fields[1]));
+            }
+            clock.set(Math.max(clock.get(), Long.parseLong(header[1])));
+            departmentVersion = Long.parseLong(header[2]);
+            employeeVersions.putAll(versions);
+            epoch = header[0];
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore the report data versions from {}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Hashes a sorted set of employee IDs into a key that identifies the report over them.
+     *
+     * @param employeeIds the IDs of the employees in the report, sorted and without duplicates
+     * @return a hex string identifying the set of employees
+     */
+    public static String hashOf(List<Long> employeeIds) {
+        MessageDigest digest = sha256();
+        for (Long employeeId : employeeIds) {
+            digest.update((employeeId + ",").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void advance(Long employeeId) {
+        employeeVersions.put(employeeId, clock.incrementAndGet());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.employee_sytem.service.report;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * The state of one asynchronous report job.
+ * <p>
+ * A job moves from QUEUED to RUNNING and ends as COMPLETED, FAILED or CANCELLED. Transitions are
+ * synchronised on the job, so a cancellation and the worker finishing the report cannot both win.
+ * </p>
+ */
+@Getter
+public class ReportJob {
+
+    /**
+     * The states a report job can be in.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED;
+
+        /**
+         * Indicates whether the job has ended and will not change any more.
+         *
+         * @return true for COMPLETED, FAILED and CANCELLED
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final List<Long> employeeIds;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long sizeBytes;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public ReportJob(String id, List<Long> employeeIds, Path file) {
+        this.id = id;
+        this.employeeIds = employeeIds;
+        this.file = file;
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Marks the job as running, unless it was cancelled while it was queued.
+     *
+     * @return true if the worker should render the report
+     */
+    public synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Marks the job as completed, unless it was cancelled while the report was being rendered.
+     *
+     * @param sizeBytes the size of the finished report
+     * @return true if the report was accepted
+     */
+    public synchronized boolean complete(long sizeBytes) {
+        if (status != Status.RUNNING) {
+            return false;
+        }
+        this.sizeBytes = sizeBytes;
+        finish(Status.COMPLETED);
+        return true;
+    }
+
+    /**
+     * Marks the job as failed, unless it was cancelled in the meantime.
+     *
+     * @param error the reason the report could not be rendered
+     */
+    public synchronized void fail(String error) {
+        if (status.isFinished()) {
+            return;
+        }
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    /**
+     * Marks a queued or running job as cancelled.
+     *
+     * @return true if the job was cancelled by this call
+     */
+    public synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+}
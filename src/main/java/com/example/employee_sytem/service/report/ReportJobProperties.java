@@ -0,0 +1,37 @@
+package com.example.employee_sytem.service.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for asynchronous report jobs, bound from the {@code app.report-jobs} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.report-jobs")
+public class ReportJobProperties {
+
+    /**
+     * Number of reports rendered at the same time.
+     */
+    private int threads = 2;
+
+    /**
+     * Number of jobs that may wait for a rendering thread; further submissions are rejected.
+     */
+    private int queueCapacity = 50;
+
+    /**
+     * Directory the finished reports are written to.
+     */
+    private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "employee-reports");
+
+    /**
+     * How long finished jobs and their reports are kept before they are cleaned up.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
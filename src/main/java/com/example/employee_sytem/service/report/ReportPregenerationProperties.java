@@ -0,0 +1,28 @@
+package com.example.employee_sytem.service.report;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings for pre-rendering reports off-peak, bound from the {@code app.report-pregeneration} properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.report-pregeneration")
+public class ReportPregenerationProperties {
+
+    /**
+     * Whether full-org and department reports are pre-rendered at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Formats the reports are pre-rendered in; each must also be one of the cached formats.
+     */
+    private Set<String> formats = new LinkedHashSet<>(List.of("pdf", "xlsx"));
+}
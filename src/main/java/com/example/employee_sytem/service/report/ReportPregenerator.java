@@ -0,0 +1,124 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.service.DocumentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pre-renders the full-org report and one report per department into the {@link ReportCache} off-peak, so
+ * the downloads that follow are served from disk instead of all rendering at once.
+ * <p>
+ * A report is only rendered if the cache has no copy at its current data-version stamp, so a run re-renders
+ * the reports of the departments whose employees, leave or departments changed since the previous run and
+ * skips the rest. The reports are keyed exactly like downloads of {@code /api/employees/employee-report/{format}}
+ * without employee IDs or with a {@code departmentId}. Reports are rendered one at a time, which keeps the
+ * run's load on the database to a single connection apart from the fragment threads of large PDFs.
+ * </p>
+ * <p>
+ * The duration of every run is published as the {@code report.pregeneration.duration} timer, and reports
+ * that failed to render as the {@code report.pregeneration.failures} counter.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ReportPregenerationProperties.class)
+public class ReportPregenerator {
+
+    private final EmployeeRepository employeeRepository;
+    private final DocumentService documentService;
+    private final ReportCache reportCache;
+    private final ReportPregenerationProperties properties;
+    private final Timer runTimer;
+    private final Counter failureCounter;
+
+    private enum Outcome { RENDERED, CURRENT, FAILED }
+
+    public ReportPregenerator(EmployeeRepository employeeRepository, DocumentService documentService,
+                              ReportCache reportCache, ReportPregenerationProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.documentService = documentService;
+        this.reportCache = reportCache;
+        this.properties = properties;
+        this.runTimer = Timer.builder("report.pregeneration.duration")
+                .description("Time taken to pre-render the full-org and department reports")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("report.pregeneration.failures")
+                .description("Reports that could not be pre-rendered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renders every full-org and department report that is not current in the cache.
+     */
+    @Scheduled(cron = "${app.report-pregeneration.cron:0 0 4 * * MON-FRI}")
+    public void pregenerateReports() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        runTimer.record(() -> {
+            List<Long> allIds = employeeRepository.findAllIds();
+            Map<Long, List<Long>> departmentMembers = new TreeMap<>();
+            for (EmployeeRepository.DepartmentMemberRow row : employeeRepository.findDepartmentMembers()) {
+                departmentMembers.computeIfAbsent(row.getDepartmentId(), id -> new ArrayList<>()).add(row.getEmployeeId());
+            }
+
+            Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+            for (String format : properties.getFormats()) {
+                if (!reportCache.isCached(format)) {
+                    log.warn("Reports in format {} are not cached and are not pre-rendered", format);
+                    continue;
+                }
+                outcomes.merge(pregenerate(format, allIds, null), 1, Integer::sum);
+                for (List<Long> members : departmentMembers.values()) {
+                    outcomes.merge(pregenerate(format, members, members), 1, Integer::sum);
+                }
+            }
+            int failed = outcomes.getOrDefault(Outcome.FAILED, 0);
+            if (failed > 0) {
+                log.warn("Pre-rendered {} reports; {} were already current and {} failed",
+                        outcomes.getOrDefault(Outcome.RENDERED, 0), outcomes.getOrDefault(Outcome.CURRENT, 0), failed);
+            } else {
+                log.info("Pre-rendered {} reports; {} were already current",
+                        outcomes.getOrDefault(Outcome.RENDERED, 0), outcomes.getOrDefault(Outcome.CURRENT, 0));
+            }
+        });
+    }
+
+    /**
+     * Renders one report into the cache unless it is current there.
+     *
+     * @param employeeIds the sorted IDs of the employees in the report, which key it
+     * @param renderedIds the IDs passed to the renderer, or null for all employees
+     * @return whether the report was rendered, was already current or failed to render
+     */
+    private Outcome pregenerate(String format, List<Long> employeeIds, List<Long> renderedIds) {
+        ReportCache.Key key = reportCache.keyFor(format, employeeIds);
+        if (reportCache.contains(key)) {
+            return Outcome.CURRENT;
+        }
+        try {
+            reportCache.writeThrough(key, OutputStream.nullOutputStream(),
+                    target -> documentService.writeEmployeeReport(format, renderedIds, target));
+            return Outcome.RENDERED;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not pre-render the {} report over {} employees", format, employeeIds.size(), e);
+            failureCounter.increment();
+            return Outcome.FAILED;
+        }
+    }
+}
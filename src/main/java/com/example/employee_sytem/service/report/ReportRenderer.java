@@ -0,0 +1,55 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Renders the employee report in one output format.
+ * <p>
+ * Renderers are Spring beans, picked up by {@link ReportRenderers} under their {@link #format()}. A renderer
+ * receives the rows as they are read from the {@link ReportRowSource} and must write them out as it goes
+ * instead of collecting them, so every format streams in constant memory.
+ * </p>
+ */
+public interface ReportRenderer {
+
+    /**
+     * The rows of a report, delivered to a consumer as they are read.
+     */
+    @FunctionalInterface
+    interface Rows {
+
+        /**
+         * Passes every row to the consumer, in report order. May only be called once.
+         *
+         * @param consumer the consumer that receives each row
+         */
+        void forEach(Consumer<EmployeeReportRowDto> consumer);
+    }
+
+    /**
+     * Returns the name the format is requested by, such as {@code pdf} or {@code csv}.
+     *
+     * @return the lower-case format name, also used as the file extension
+     */
+    String format();
+
+    /**
+     * Returns the media type of the rendered report.
+     *
+     * @return the content type of the output
+     */
+    String contentType();
+
+    /**
+     * Renders the report.
+     *
+     * @param rows the rows of the report
+     * @param outputStream the stream the report is written to; it must be left open
+     * @throws IOException if writing the report fails
+     */
+    void render(Rows rows, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,47 @@
+package com.example.employee_sytem.service.report;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Registry of the {@link ReportRenderer} beans by format.
+ */
+@Component
+public class ReportRenderers {
+
+    private final Map<String, ReportRenderer> renderers = new TreeMap<>();
+
+    public ReportRenderers(List<ReportRenderer> renderers) {
+        for (ReportRenderer renderer : renderers) {
+            ReportRenderer previous = this.renderers.put(renderer.format(), renderer);
+            if (previous != null) {
+                throw new IllegalStateException("Two report renderers for format " + renderer.format());
+            }
+        }
+    }
+
+    /**
+     * Finds the renderer of a format.
+     *
+     * @param format the format name, in any case
+     * @return the renderer, or empty if the format is not supported
+     */
+    public Optional<ReportRenderer> find(String format) {
+        return Optional.ofNullable(renderers.get(format.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Returns the supported formats.
+     *
+     * @return the format names in alphabetical order
+     */
+    public Set<String> formats() {
+        return renderers.keySet();
+    }
+}
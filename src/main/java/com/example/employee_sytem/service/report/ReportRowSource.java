@@ -0,0 +1,26 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Source of the rows of the employee report.
+ * <p>
+ * Every row joins an employee with their department and current-year leave, so renderers need no
+ * lookups of their own. Rows are pushed to a consumer while they are read rather than returned, because
+ * they come from a database cursor that is only open for the duration of the call.
+ * </p>
+ */
+public interface ReportRowSource {
+
+    /**
+     * Passes the report rows of the given employees to a consumer, ordered by employee ID.
+     * Employees that do not exist are left out.
+     *
+     * @param employeeIds the IDs of the employees to include, or null for all employees
+     * @param consumer the consumer that receives each row as it is read
+     */
+    void forEachRow(Collection<Long> employeeIds, Consumer<EmployeeReportRowDto> consumer);
+}
@@ -0,0 +1,109 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.dto.EmployeeReportRowDto;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Renders the employee report as a spreadsheet with POI's streaming SXSSFWorkbook.
+ * <p>
+ * Only the last {@value #ROW_WINDOW} rows are kept in memory; older rows are flushed to a compressed
+ * temporary file until the workbook is written out. The employees continue on a new sheet if they exceed
+ * the row limit of a sheet.
+ * </p>
+ */
+@Component
+public class XlsxReportRenderer implements ReportRenderer {
+
+    private static final int ROW_WINDOW = 100; // Spreadsheet rows kept in memory before they are flushed
+    private static final String[] HEADERS = {"Employee ID", "First Name", "Last Name", "Email",
+            "Department ID", "Department Name", "Total Leave", "Leave Taken", "Leave Remaining"};
+    private static final int[] COLUMN_WIDTHS = {12, 20, 20, 32, 14, 24, 12, 12, 16}; // In characters
+
+    @Override
+    public String format() {
+        return "xlsx";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public void render(Rows rows, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true); // Flushed rows compress well and may be many
+        try {
+            rows.forEach(new RowWriter(workbook));
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose(); // Delete the temporary files holding the flushed rows
+            workbook.close();
+        }
+    }
+
+    /**
+     * Appends report rows to a streaming workbook, starting a new sheet whenever one is full.
+     */
+    private static final class RowWriter implements Consumer<EmployeeReportRowDto> {
+        private static final int LAST_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+        private final SXSSFWorkbook workbook;
+        private final CellStyle headerStyle;
+        private SXSSFSheet sheet;
+        private int nextRow;
+
+        private RowWriter(SXSSFWorkbook workbook) {
+            this.workbook = workbook;
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(bold);
+            startSheet();
+        }
+
+        @Override
+        public void accept(EmployeeReportRowDto employee) {
+            if (nextRow > LAST_ROW_INDEX) {
+                startSheet();
+            }
+            Row row = sheet.createRow(nextRow++);
+            row.createCell(0).setCellValue(employee.getId());
+            row.createCell(1).setCellValue(employee.getFirstName());
+            row.createCell(2).setCellValue(employee.getLastName());
+            row.createCell(3).setCellValue(employee.getEmail());
+            if (employee.getDepartmentId() != null) {
+                row.createCell(4).setCellValue(employee.getDepartmentId());
+                row.createCell(5).setCellValue(employee.getDepartmentName());
+            } else {
+                row.createCell(5).setCellValue("No Department");
+            }
+            row.createCell(6).setCellValue(employee.getTotalLeaveDays());
+            row.createCell(7).setCellValue(employee.getTakenLeaves());
+            row.createCell(8).setCellValue(employee.getRemainingLeaves());
+        }
+
+        private void startSheet() {
+            int number = workbook.getNumberOfSheets() + 1;
+            sheet = workbook.createSheet(number == 1 ? "Employees" : "Employees " + number);
+            Row header = sheet.createRow(0);
+            for (int column = 0; column < HEADERS.length; column++) {
+                header.createCell(column).setCellValue(HEADERS[column]);
+                header.getCell(column).setCellStyle(headerStyle);
+                sheet.setColumnWidth(column, COLUMN_WIDTHS[column] * 256); // Widths are in 1/256 of a character
+            }
+            sheet.createFreezePane(0, 1); // Keep the header visible while scrolling
+            nextRow = 1;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.employee_sytem.controller;
+
+import com.example.employee_sytem.service.DepartmentService;
+import com.example.employee_sytem.service.DocumentService;
+import com.example.employee_sytem.service.EmployeeImportService;
+import com.example.employee_sytem.service.EmployeeService;
+import com.example.employee_sytem.service.ExportService;
+import com.example.employee_sytem.service.LeaveRequestServiceInterface;
+import com.example.employee_sytem.service.bulkhead.Bulkhead;
+import com.example.employee_sytem.service.bulkhead.BulkheadProperties;
+import com.example.employee_sytem.service.bulkhead.Bulkheads;
+import com.example.employee_sytem.service.report.ReportCache;
+import com.example.employee_sytem.service.report.ReportRenderers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the export endpoints answer 503 with Retry-After when their bulkhead is full, and give
+ * their permit back once the streamed response is done.
+ */
+class EmployeeControllerBulkheadTest {
+
+    private final Bulkheads bulkheads = new Bulkheads(properties(), new SimpleMeterRegistry());
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(
+            mock(EmployeeService.class), mock(EmployeeImportService.class), mock(LeaveRequestServiceInterface.class),
+            mock(DepartmentService.class), mock(DocumentService.class), mock(ExportService.class),
+            mock(ReportCache.class), mock(ReportRenderers.class), bulkheads, new ObjectMapper())).build();
+
+    @Test
+    void rejectsExportsWithRetryAfterWhenTheBulkheadIsFull() throws Exception {
+        try (Bulkhead.Permit permit = bulkheads.export().acquire()) {
+            mockMvc.perform(get("/api/employees/export"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+        }
+    }
+
+    @Test
+    void givesThePermitBackOnceTheExportIsStreamed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertDoesNotThrow(() -> bulkheads.export().acquire().close());
+    }
+
+    private static BulkheadProperties properties() {
+        BulkheadProperties properties = new BulkheadProperties();
+        BulkheadProperties.Limits export = new BulkheadProperties.Limits();
+        export.setMaxConcurrent(1);
+        export.setMaxQueued(0);
+        export.setRetryAfter(Duration.ofSeconds(30));
+        properties.setExport(export);
+        return properties;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.employee_sytem.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the interval tree of {@link LeaveAbsenceIndex} against a linear scan over the same absences.
+ */
+class LeaveAbsenceIndexTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void findsTheSameAbsencesAsALinearScan() {
+        Random random = new Random(42);
+        LeaveAbsenceIndex.IntervalTree tree = new LeaveAbsenceIndex.IntervalTree();
+        List<IndexedAbsence> absences = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            if (!absences.isEmpty() && random.nextInt(3) == 0) {
+                tree.delete(absences.remove(random.nextInt(absences.size())));
+            } else {
+                IndexedAbsence absence = absence(id, random.nextInt(366), random.nextInt(30));
+                tree.insert(absence);
+                absences.add(absence);
+            }
+            if (id % 50 == 0) {
+                for (int query = 0; query < 20; query++) {
+                    LocalDate from = FIRST.plusDays(random.nextInt(400) - 20);
+                    assertOverlapping(tree, absences, from, from.plusDays(random.nextInt(60)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findsAbsencesThatShareAStartDate() {
+        LeaveAbsenceIndex.IntervalTree tree = new LeaveAbsenceIndex.IntervalTree();
+        List<IndexedAbsence> absences = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            IndexedAbsence absence = absence(id, 10, (int) id % 7);
+            tree.insert(absence);
+            absences.add(absence);
+        }
+        for (int i = 0; i < 50; i++) {
+            tree.delete(absences.remove(i));
+        }
+        for (int day = 0; day < 25; day++) {
+            assertOverlapping(tree, absences, FIRST.plusDays(day), FIRST.plusDays(day));
+        }
+    }
+
+    private static IndexedAbsence absence(long id, int startDay, int days) {
+        LocalDate start = FIRST.plusDays(startDay);
+        return new IndexedAbsence(id, id % 100, "First", "Last", null, start, start.plusDays(days));
+    }
+
+    private static void assertOverlapping(LeaveAbsenceIndex.IntervalTree tree, List<IndexedAbsence> absences,
+                                          LocalDate from, LocalDate to) {
+        List<Long> expected = absences.stream()
+                .filter(absence -> !absence.getStartDate().isAfter(to) && !absence.getEndDate().isBefore(from))
+                .map(IndexedAbsence::getId)
+                .sorted()
+                .toList();
+        List<Long> actual = new ArrayList<>();
+        tree.forEachOverlapping(from, to, absence -> actual.add(absence.getId()));
+        actual.sort(Comparator.naturalOrder());
+        assertEquals(expected, actual, () -> from + " to " + to);
+    }
+}
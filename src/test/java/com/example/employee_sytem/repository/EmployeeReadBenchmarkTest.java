@@ -0,0 +1,73 @@
+package com.example.employee_sytem.repository;
+
+import com.example.employee_sytem.dto.EmployeeDto;
+import com.example.employee_sytem.mapper.EmployeeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares employee read throughput (rows/sec) of full-entity loading against DTO projections.
+ * <p>
+ * This benchmark needs the PostgreSQL database configured in application.properties, populated with
+ * employees, so it only runs when enabled explicitly:
+ * {@code mvn test -Dtest=EmployeeReadBenchmarkTest -Dbenchmark=true}
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EmployeeReadBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void entityLoadingVersusDtoProjection() {
+        Measurement entity = measure("entity + mapper", () -> employeeRepository.findAll().stream()
+                .map(EmployeeMapper::mapToEmployeeDto)
+                .collect(Collectors.toList()));
+        Measurement projection = measure("DTO projection", employeeRepository::findAllDtos);
+
+        assertTrue(entity.rowsPerRound() > 0, "the benchmark needs employees to read");
+        assertEquals(entity.rowsPerRound(), projection.rowsPerRound(), "both paths read every employee");
+        log.info("Projection speed-up: {}x", String.format("%.2f", projection.rowsPerSecond() / entity.rowsPerSecond()));
+    }
+
+    private Measurement measure(String label, Supplier<List<EmployeeDto>> read) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            transactionTemplate.execute(status -> read.get());
+        }
+
+        long rows = 0;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rows += transactionTemplate.execute(status -> read.get()).size();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        double rowsPerSecond = rows / seconds;
+
+        log.info("{}: {} rows in {} s ({} rows/sec)", label, rows, String.format("%.2f", seconds),
+                String.format("%.0f", rowsPerSecond));
+        return new Measurement(rows / MEASURED_ROUNDS, rowsPerSecond);
+    }
+
+    private record Measurement(long rowsPerRound, double rowsPerSecond) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.employee_sytem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures export throughput (rows/sec) of the CSV and NDJSON exports of employees and leave requests.
+ * <p>
+ * The output is discarded, so the figures show the cost of reading the cursor and formatting the rows.
+ * This benchmark needs the PostgreSQL database configured in application.properties, populated with about
+ * a million rows per table for representative figures, so it only runs when enabled explicitly:
+ * {@code mvn test -Dtest=ExportBenchmarkTest -Dbenchmark=true}
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExportBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Test
+    void exportThroughput() throws IOException {
+        long employees = measure("employees CSV", out -> exportService.exportEmployees(ExportService.Format.CSV, out));
+        long leaveRequests = measure("leave requests CSV",
+                out -> exportService.exportLeaveRequests(ExportService.Format.CSV, out));
+        assertTrue(employees > 0, "the benchmark needs employees to export");
+        assertTrue(leaveRequests > 0, "the benchmark needs leave requests to export");
+
+        assertEquals(employees, measure("employees NDJSON",
+                out -> exportService.exportEmployees(ExportService.Format.NDJSON, out)), "both formats export every employee");
+        assertEquals(leaveRequests, measure("leave requests NDJSON",
+                out -> exportService.exportLeaveRequests(ExportService.Format.NDJSON, out)),
+                "both formats export every leave request");
+    }
+
+    /**
+     * Runs an export repeatedly and logs its throughput.
+     *
+     * @return the number of rows one run exported
+     */
+    private long measure(String label, Export export) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            export.run(OutputStream.nullOutputStream());
+        }
+
+        long rows = 0;
+        CountingOutputStream out = new CountingOutputStream();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rows += export.run(out);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        log.info("{}: {} rows ({} MB) in {} s ({} rows/sec)", label, rows, out.bytes / (1024 * 1024),
+                String.format("%.2f", seconds), String.format("%.0f", rows / seconds));
+        return rows / MEASURED_ROUNDS;
+    }
+
+    private interface Export {
+        long run(OutputStream out) throws IOException;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
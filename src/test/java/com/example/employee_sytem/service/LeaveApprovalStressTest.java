@@ -0,0 +1,161 @@
+package com.example.employee_sytem.service;
+
+import com.example.employee_sytem.entity.Employee;
+import com.example.employee_sytem.entity.LeaveBalance;
+import com.example.employee_sytem.entity.LeaveBalanceId;
+import com.example.employee_sytem.entity.LeaveRequest;
+import com.example.employee_sytem.repository.EmployeeRepository;
+import com.example.employee_sytem.repository.LeaveBalanceRepository;
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import com.example.employee_sytem.service.calendar.BusinessCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Approves many one-working-day leave requests of the same employees from concurrent threads and checks that no
+ * balance is overdrawn, reporting approval throughput (approvals/sec).
+ * <p>
+ * This stress test needs the PostgreSQL database configured in application.properties, so it only runs
+ * when enabled explicitly:
+ * {@code mvn test -Dtest=LeaveApprovalStressTest -Dbenchmark=true}
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LeaveApprovalStressTest {
+
+    private static final int EMPLOYEES = 8;
+    private static final int REQUESTS_PER_EMPLOYEE = 40; // More one-day requests than the 27 allowed days
+    private static final int ALLOWED_DAYS = LeaveBalance.ANNUAL_ENTITLEMENT_DAYS;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LeaveRequestServiceInterface leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private BusinessCalendar businessCalendar;
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<LeaveRequest> requests = new ArrayList<>();
+    private final int year = LocalDate.now().getYear();
+
+    @BeforeEach
+    void createPendingRequests() {
+        for (int e = 0; e < EMPLOYEES; e++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Stress");
+            employee.setLastName("Test " + e);
+            employee.setEmail("stress-" + UUID.randomUUID() + "@example.com");
+            employees.add(employeeRepository.save(employee));
+        }
+        List<LocalDate> workingDays = new ArrayList<>();
+        for (LocalDate day = LocalDate.of(year, 1, 1); workingDays.size() < REQUESTS_PER_EMPLOYEE; day = day.plusDays(1)) {
+            if (businessCalendar.isBusinessDay(day)) {
+                workingDays.add(day);
+            }
+        }
+        for (Employee employee : employees) {
+            for (LocalDate day : workingDays) {
+                LeaveRequest request = new LeaveRequest();
+                request.setEmployee(employee);
+                request.setStartDate(day);
+                request.setEndDate(request.getStartDate());
+                request.setReason("Stress test");
+                request.setStatus("PENDING");
+                requests.add(request);
+            }
+        }
+        leaveRequestRepository.saveAll(requests);
+    }
+
+    @AfterEach
+    void deleteCreatedData() {
+        leaveRequestRepository.deleteAll(requests);
+        for (Employee employee : employees) {
+            leaveBalanceRepository.deleteById(new LeaveBalanceId(employee.getId(), year));
+        }
+        employeeRepository.deleteAll(employees);
+    }
+
+    @Test
+    void concurrentApprovalsNeverOverdrawBalance() throws InterruptedException {
+        ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+        requests.forEach(request -> pending.add(request.getId()));
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                awaitQuietly(start);
+                Long id;
+                while ((id = pending.poll()) != null) {
+                    try {
+                        leaveRequestService.approveLeaveRequest(id);
+                        approved.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        log.info("{} approvals, {} rejections in {} s ({} approvals/sec)", approved.get(), rejected.get(),
+                String.format("%.2f", seconds), String.format("%.0f", approved.get() / seconds));
+
+        for (Employee employee : employees) {
+            long takenDays = leaveBalanceRepository.findById(new LeaveBalanceId(employee.getId(), year))
+                    .orElseThrow()
+                    .getTakenDays();
+            long approvedDays = leaveRequestRepository.countByEmployeeAndStatus(employee, "APPROVED");
+            assertEquals(ALLOWED_DAYS, takenDays, "balance of employee " + employee.getId());
+            assertEquals(approvedDays, takenDays, "ledger of employee " + employee.getId());
+        }
+        assertEquals(EMPLOYEES * ALLOWED_DAYS, approved.get());
+        assertEquals(EMPLOYEES * (REQUESTS_PER_EMPLOYEE - ALLOWED_DAYS), rejected.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
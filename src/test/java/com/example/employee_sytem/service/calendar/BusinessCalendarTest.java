@@ -0,0 +1,123 @@
+package com.example.employee_sytem.service.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bitmap arithmetic of {@link BusinessCalendar} against a day-by-day count.
+ */
+class BusinessCalendarTest {
+
+    private static final BusinessCalendar WEEKDAYS = calendar(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+            List.of(), List.of());
+
+    @Test
+    void marksWeekdaysAsWorkingDays() {
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (LocalDate day = first; day.getYear() == 2024; day = day.plusDays(1)) {
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            assertEquals(!weekend, WEEKDAYS.isBusinessDay(day), day::toString);
+        }
+    }
+
+    @Test
+    void countsEveryRangeOfALeapYear() {
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (int start = 0; start < 366; start++) {
+            for (int end = start; end < 366; end += 7) {
+                assertRange(WEEKDAYS, first.plusDays(start), first.plusDays(end));
+            }
+        }
+    }
+
+    @Test
+    void countsRangesAroundWordBoundaries() {
+        for (int boundary : new int[]{64, 128, 192, 256, 320}) {
+            for (int offset = -1; offset <= 1; offset++) {
+                LocalDate day = LocalDate.ofYearDay(2023, boundary + offset);
+                assertRange(WEEKDAYS, LocalDate.of(2023, 1, 1), day);
+                assertRange(WEEKDAYS, day, LocalDate.of(2023, 12, 31));
+                assertRange(WEEKDAYS, day, day);
+            }
+        }
+    }
+
+    @Test
+    void countsTheLastDayOfALeapYear() {
+        LocalDate lastDay = LocalDate.of(2024, 12, 31); // Day 366, the only day in the sixth word
+        assertEquals(1, WEEKDAYS.businessDays(lastDay, lastDay)); // A Tuesday
+        assertEquals(262, WEEKDAYS.businessDays(LocalDate.of(2024, 1, 1), lastDay));
+        assertRange(WEEKDAYS, LocalDate.of(2024, 12, 1), lastDay);
+    }
+
+    @Test
+    void countsRangesAcrossYears() {
+        assertRange(WEEKDAYS, LocalDate.of(2023, 12, 29), LocalDate.of(2024, 1, 2));
+        assertRange(WEEKDAYS, LocalDate.of(2023, 3, 15), LocalDate.of(2026, 2, 10));
+        assertRange(WEEKDAYS, LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void returnsZeroWhenTheRangeEndsBeforeItStarts() {
+        assertEquals(0, WEEKDAYS.businessDays(LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 9)));
+        assertEquals(0, WEEKDAYS.businessDays(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void leavesOutConfiguredWeekendDaysAndHolidays() {
+        BusinessCalendar calendar = calendar(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY),
+                List.of(LocalDate.of(2024, 3, 5)), List.of("12-25", " 01-01"));
+
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 3, 8)));  // Friday
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2024, 3, 10))); // Sunday
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2024, 3, 5)));  // Fixed-date holiday
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2025, 3, 5)));  // Only in 2024
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2025, 12, 25))); // Recurring holiday
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2026, 1, 1)));
+
+        assertRange(calendar, LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31));
+        assertRange(calendar, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+    }
+
+    @Test
+    void countsEveryDayWithoutWeekendDays() {
+        BusinessCalendar calendar = calendar(List.of(), List.of(), List.of());
+        assertEquals(366, calendar.businessDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertEquals(365 + 366, calendar.businessDays(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void fingerprintChangesWithTheConfiguration() {
+        BusinessCalendar same = calendar(List.of(DayOfWeek.SUNDAY, DayOfWeek.SATURDAY), List.of(), List.of());
+        BusinessCalendar withHoliday = calendar(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of(), List.of("12-25"));
+
+        assertEquals(WEEKDAYS.fingerprint(), same.fingerprint());
+        assertNotEquals(WEEKDAYS.fingerprint(), withHoliday.fingerprint());
+    }
+
+    private static void assertRange(BusinessCalendar calendar, LocalDate start, LocalDate end) {
+        assertEquals(countDayByDay(calendar, start, end), calendar.businessDays(start, end),
+                () -> "working days from " + start + " to " + end);
+    }
+
+    private static long countDayByDay(BusinessCalendar calendar, LocalDate start, LocalDate end) {
+        return start.datesUntil(end.plusDays(1)).filter(calendar::isBusinessDay).count();
+    }
+
+    private static BusinessCalendar calendar(List<DayOfWeek> weekendDays, List<LocalDate> holidays,
+                                             List<String> recurringHolidays) {
+        BusinessCalendarProperties properties = new BusinessCalendarProperties();
+        properties.setWeekendDays(weekendDays);
+        properties.setHolidays(holidays);
+        properties.setRecurringHolidays(recurringHolidays);
+        return new BusinessCalendar(properties);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.employee_sytem.service.report;
+
+import com.example.employee_sytem.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that cached reports survive a clean restart and are dropped after an unclean one.
+ */
+class ReportCacheTest {
+
+    private static final List<Long> EMPLOYEE_IDS = List.of(1L, 2L, 3L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsReportsAcrossACleanRestart() throws IOException {
+        ReportCache cache = cache(directory);
+        ReportCache.Key key = cache.keyFor("pdf", EMPLOYEE_IDS);
+        cache.writeThrough(key, new ByteArrayOutputStream(), out -> out.write("report".getBytes(StandardCharsets.UTF_8)));
+        cache.saveVersions();
+
+        ReportCache restarted = cache(directory);
+        ReportCache.Key restartedKey = restarted.keyFor("pdf", EMPLOYEE_IDS);
+        assertEquals(key, restartedKey);
+        assertTrue(restarted.contains(restartedKey));
+        try (InputStream report = restarted.open(restartedKey)) {
+            assertNotNull(report);
+            assertEquals("report", new String(report.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void dropsReportsAfterAnUncleanRestart() throws IOException {
+        ReportCache cache = cache(directory);
+        ReportCache.Key key = cache.keyFor("pdf", EMPLOYEE_IDS);
+        cache.writeThrough(key, new ByteArrayOutputStream(), out -> out.write("report".getBytes(StandardCharsets.UTF_8)));
+        Path unrelated = Files.writeString(directory.resolve("notes.pdf"), "not a cached report");
+
+        ReportCache restarted = cache(directory);
+        assertFalse(restarted.contains(restarted.keyFor("pdf", EMPLOYEE_IDS)));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(unrelated), files.toList());
+        }
+    }
+
+    @Test
+    void keysTheSameEmployeesAlikeInAnyOrder() throws IOException {
+        ReportCache cache = cache(directory);
+        assertEquals(cache.keyFor("pdf", EMPLOYEE_IDS), cache.keyFor("pdf", List.of(3L, 1L, 2L, 1L)));
+    }
+
+    private static ReportCache cache(Path directory) throws IOException {
+        ReportCacheProperties properties = new ReportCacheProperties();
+        properties.setDirectory(directory);
+        return new ReportCache(properties, new ReportDataVersions(mock(LeaveRequestRepository.class)));
+    }
+}